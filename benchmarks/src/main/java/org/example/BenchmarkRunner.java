@@ -0,0 +1,32 @@
+package org.example;
+
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.results.format.ResultFormatType;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Runs the MST benchmarks with the GC profiler (allocation rate per operation) and
+ * writes the results to a JSON file that later runs can be compared against.
+ *
+ * Usage: BenchmarkRunner [include regex] [result file]
+ * (defaults: MSTBenchmark only, jmh-results.json; the parser benchmarks are selected
+ * with ParseBenchmark, everything with ".*")
+ */
+public class BenchmarkRunner {
+
+    public static void main(String[] args) throws RunnerException {
+        String include = args.length > 0 ? args[0] : MSTBenchmark.class.getSimpleName();
+        String output = args.length > 1 ? args[1] : "jmh-results.json";
+
+        Options options = new OptionsBuilder()
+                .include(include)
+                .addProfiler(GCProfiler.class)
+                .resultFormat(ResultFormatType.JSON)
+                .result(output)
+                .build();
+        new Runner(options).run();
+    }
+}
@@ -0,0 +1,224 @@
+package org.example;
+
+import java.util.*;
+
+/**
+ * Seeded generators of synthetic graphs for the benchmarks.
+ *
+ * Every generator is deterministic for a given seed and returns a connected graph whose
+ * compact form is built directly from primitive arrays (no {@link Edge} objects), so even
+ * complete graphs with millions of edges are cheap to set up. Weights are in [1, 1000].
+ */
+public final class GraphGenerator {
+
+    /** Largest generated weight */
+    private static final int MAX_WEIGHT = 1000;
+
+    /**
+     * Graph families the generators can produce.
+     */
+    public enum Shape {
+        /** Random spanning tree plus uniformly random extra edges */
+        SPARSE,
+        /** Square 4-neighbor grid */
+        GRID,
+        /** Random points in the unit square joined when closer than a radius, weighted by distance */
+        GEOMETRIC,
+        /** Every pair of vertices joined */
+        COMPLETE
+    }
+
+    private GraphGenerator() {
+    }
+
+    /**
+     * Generates a graph of the given family.
+     *
+     * @param shape     the graph family
+     * @param vertices  number of vertices (rounded down to a square for grids)
+     * @param avgDegree average vertex degree for sparse and geometric graphs (ignored otherwise)
+     * @param seed      random seed
+     * @return the graph
+     */
+    public static GraphData generate(Shape shape, int vertices, int avgDegree, long seed) {
+        return switch (shape) {
+            case SPARSE -> sparse(vertices, (long) vertices * avgDegree / 2, seed);
+            case GRID -> grid((int) Math.sqrt(vertices), seed);
+            case GEOMETRIC -> geometric(vertices, avgDegree, seed);
+            case COMPLETE -> complete(vertices, seed);
+        };
+    }
+
+    /**
+     * Random spanning tree (every vertex attached to a random earlier one) plus random extra edges.
+     *
+     * @param vertices number of vertices
+     * @param edges    total number of edges (at least V - 1 are generated)
+     * @param seed     random seed
+     * @return the graph
+     */
+    public static GraphData sparse(int vertices, long edges, long seed) {
+        SplittableRandom random = new SplittableRandom(seed);
+        EdgeArrays a = new EdgeArrays(Math.max(edges, vertices - 1L));
+        for (int v = 1; v < vertices; v++) {
+            a.add(random.nextInt(v), v, weight(random));
+        }
+        while (a.size < edges && vertices > 1) {
+            int u = random.nextInt(vertices);
+            int v = random.nextInt(vertices);
+            if (u != v) a.add(u, v, weight(random));
+        }
+        return a.toGraph("sparse", vertices);
+    }
+
+    /**
+     * Square grid where every vertex is joined to its right and lower neighbor.
+     *
+     * @param side number of vertices per row and column
+     * @param seed random seed
+     * @return the graph with side * side vertices
+     */
+    public static GraphData grid(int side, long seed) {
+        SplittableRandom random = new SplittableRandom(seed);
+        EdgeArrays a = new EdgeArrays(2L * side * Math.max(side - 1, 0));
+        for (int r = 0; r < side; r++) {
+            for (int c = 0; c < side; c++) {
+                int v = r * side + c;
+                if (c + 1 < side) a.add(v, v + 1, weight(random));
+                if (r + 1 < side) a.add(v, v + side, weight(random));
+            }
+        }
+        return a.toGraph("grid", side * side);
+    }
+
+    /**
+     * Random geometric graph: points in the unit square joined when their distance is below
+     * the radius that gives the requested average degree. Weights are proportional to the
+     * distance. Components are chained together afterwards, so the graph is connected.
+     *
+     * @param vertices  number of vertices
+     * @param avgDegree expected average degree
+     * @param seed      random seed
+     * @return the graph
+     */
+    public static GraphData geometric(int vertices, int avgDegree, long seed) {
+        SplittableRandom random = new SplittableRandom(seed);
+        double[] x = new double[vertices];
+        double[] y = new double[vertices];
+        for (int v = 0; v < vertices; v++) {
+            x[v] = random.nextDouble();
+            y[v] = random.nextDouble();
+        }
+        double radius = Math.sqrt(avgDegree / (Math.PI * Math.max(vertices, 1)));
+
+        // Bucket the points into cells of the radius, so only neighboring cells are compared.
+        int cells = Math.max(1, (int) (1 / radius));
+        int[] cellStart = new int[cells * cells + 1];
+        for (int v = 0; v < vertices; v++) cellStart[cell(x[v], y[v], cells) + 1]++;
+        for (int c = 0; c < cells * cells; c++) cellStart[c + 1] += cellStart[c];
+        int[] next = Arrays.copyOf(cellStart, cells * cells);
+        int[] byCell = new int[vertices];
+        for (int v = 0; v < vertices; v++) byCell[next[cell(x[v], y[v], cells)]++] = v;
+
+        EdgeArrays a = new EdgeArrays((long) vertices * avgDegree / 2 + vertices);
+        DisjointSet sets = new DisjointSet(vertices);
+        for (int u = 0; u < vertices; u++) {
+            int cx = Math.min((int) (x[u] * cells), cells - 1);
+            int cy = Math.min((int) (y[u] * cells), cells - 1);
+            for (int gx = Math.max(cx - 1, 0); gx <= Math.min(cx + 1, cells - 1); gx++) {
+                for (int gy = Math.max(cy - 1, 0); gy <= Math.min(cy + 1, cells - 1); gy++) {
+                    int c = gx * cells + gy;
+                    for (int i = cellStart[c]; i < cellStart[c + 1]; i++) {
+                        int v = byCell[i];
+                        double d = Math.hypot(x[u] - x[v], y[u] - y[v]);
+                        if (v > u && d < radius) {
+                            a.add(u, v, distanceWeight(d));
+                            sets.union(u, v);
+                        }
+                    }
+                }
+            }
+        }
+        // Chain the components: join each component to the previous one by an edge between representatives.
+        int previous = -1;
+        for (int v = 0; v < vertices; v++) {
+            if (sets.find(v) != v) continue;
+            if (previous >= 0) {
+                a.add(previous, v, distanceWeight(Math.hypot(x[previous] - x[v], y[previous] - y[v])));
+            }
+            previous = v;
+        }
+        return a.toGraph("geometric", vertices);
+    }
+
+    /**
+     * Complete graph with random weights.
+     *
+     * @param vertices number of vertices
+     * @param seed     random seed
+     * @return the graph with V * (V - 1) / 2 edges
+     */
+    public static GraphData complete(int vertices, long seed) {
+        SplittableRandom random = new SplittableRandom(seed);
+        EdgeArrays a = new EdgeArrays((long) vertices * (vertices - 1) / 2);
+        for (int u = 0; u < vertices; u++) {
+            for (int v = u + 1; v < vertices; v++) {
+                a.add(u, v, weight(random));
+            }
+        }
+        return a.toGraph("complete", vertices);
+    }
+
+    private static int weight(SplittableRandom random) {
+        return 1 + random.nextInt(MAX_WEIGHT);
+    }
+
+    private static int distanceWeight(double d) {
+        // The diagonal of the unit square is about 1.41, so weights stay within [1, MAX_WEIGHT].
+        return 1 + (int) (d / Math.sqrt(2) * (MAX_WEIGHT - 1));
+    }
+
+    private static int cell(double x, double y, int cells) {
+        return Math.min((int) (x * cells), cells - 1) * cells + Math.min((int) (y * cells), cells - 1);
+    }
+
+    /**
+     * Growable from/to/weight arrays.
+     */
+    private static final class EdgeArrays {
+        private int[] from;
+        private int[] to;
+        private int[] weight;
+        private int size;
+
+        EdgeArrays(long capacity) {
+            if (capacity > Integer.MAX_VALUE - 8) {
+                throw new IllegalArgumentException("Too many edges: " + capacity);
+            }
+            int n = (int) Math.max(capacity, 16);
+            from = new int[n];
+            to = new int[n];
+            weight = new int[n];
+        }
+
+        void add(int u, int v, int w) {
+            if (size == from.length) {
+                from = Arrays.copyOf(from, size * 2);
+                to = Arrays.copyOf(to, size * 2);
+                weight = Arrays.copyOf(weight, size * 2);
+            }
+            from[size] = u;
+            to[size] = v;
+            weight[size] = w;
+            size++;
+        }
+
+        GraphData toGraph(String type, int vertices) {
+            String[] names = new String[vertices];
+            for (int v = 0; v < vertices; v++) names[v] = "v" + v;
+            CompactGraph cg = new CompactGraph(names, Arrays.copyOf(from, size), Arrays.copyOf(to, size),
+                    Arrays.copyOf(weight, size));
+            return GraphData.of(0, type, cg);
+        }
+    }
+}
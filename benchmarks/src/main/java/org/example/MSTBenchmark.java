@@ -0,0 +1,146 @@
+package org.example;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * JMH benchmarks of every MST engine on one generated graph.
+ *
+ * The graph and its compact form are built once per trial, like in {@link MSTComparison},
+ * so only the algorithms themselves are measured. Subclasses choose the graph family and
+ * sizes through their {@link Param} fields. Both throughput and average time are reported;
+ * run with {@code -prof gc} (or {@link BenchmarkRunner}) to add the allocation rate.
+ */
+@BenchmarkMode({Mode.Throughput, Mode.AverageTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+public abstract class MSTBenchmark {
+
+    /** Seed of the graph generators, so every run measures the same graphs */
+    public static final long SEED = 42;
+
+    protected GraphData graph;
+    private ForkJoinPool pool;
+
+    /**
+     * Generates the graph for the current parameters.
+     * @return the graph
+     */
+    protected abstract GraphData createGraph();
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        graph = createGraph();
+        graph.toCompact();
+        pool = new ForkJoinPool(Runtime.getRuntime().availableProcessors());
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        pool.shutdown();
+    }
+
+    @Benchmark
+    public PrimAlgorithm.Result primLazy() {
+        return new PrimAlgorithm(graph, graph.getNodes(), graph.getEdges()).getResult();
+    }
+
+    @Benchmark
+    public PrimAlgorithm.Result primEager() {
+        return new PrimAlgorithm(graph, graph.getNodes(), graph.getEdges(), PrimAlgorithm.Mode.EAGER,
+                PrimAlgorithm.DEFAULT_ARITY, PrimAlgorithm.DEFAULT_DENSE_THRESHOLD).getResult();
+    }
+
+    @Benchmark
+    public PrimAlgorithm.Result primAuto() {
+        return new PrimAlgorithm(graph, graph.getNodes(), graph.getEdges(), PrimAlgorithm.Mode.AUTO,
+                PrimAlgorithm.DEFAULT_ARITY, PrimAlgorithm.DEFAULT_DENSE_THRESHOLD).getResult();
+    }
+
+    @Benchmark
+    public KruskalAlgorithm.Result kruskalRadix() {
+        return new KruskalAlgorithm(graph, graph.getNodes(), graph.getEdges(),
+                KruskalAlgorithm.Mode.RADIX_SORT).getResult();
+    }
+
+    @Benchmark
+    public KruskalAlgorithm.Result kruskalLazyHeap() {
+        return new KruskalAlgorithm(graph, graph.getNodes(), graph.getEdges(),
+                KruskalAlgorithm.Mode.LAZY_HEAP).getResult();
+    }
+
+    @Benchmark
+    public FilterKruskalAlgorithm.Result filterKruskal() {
+        return new FilterKruskalAlgorithm(graph, graph.getNodes(), graph.getEdges(), pool).getResult();
+    }
+
+    @Benchmark
+    public BoruvkaAlgorithm.Result boruvka() {
+        return new BoruvkaAlgorithm(graph, graph.getNodes(), graph.getEdges(), pool).getResult();
+    }
+
+    @Benchmark
+    public SpanningForestAlgorithm.Result forest() {
+        return new SpanningForestAlgorithm(graph, graph.getNodes(), graph.getEdges(), pool,
+                SpanningForestAlgorithm.DEFAULT_BATCH_SIZE).getResult();
+    }
+
+    @Benchmark
+    public ExternalKruskalAlgorithm.Result externalKruskal() throws IOException {
+        return new ExternalKruskalAlgorithm(graph, graph.getNodes(), graph.getEdges()).getResult();
+    }
+
+    /**
+     * Sparse and random-geometric graphs from 1,000 to 100,000 vertices.
+     */
+    @State(Scope.Benchmark)
+    public static class Sparse extends MSTBenchmark {
+        @Param({"SPARSE", "GEOMETRIC"})
+        public GraphGenerator.Shape shape;
+
+        @Param({"1000", "10000", "100000"})
+        public int vertices;
+
+        /** Average degree of the generated graph */
+        @Param({"4", "16"})
+        public int avgDegree;
+
+        @Override
+        protected GraphData createGraph() {
+            return GraphGenerator.generate(shape, vertices, avgDegree, SEED);
+        }
+    }
+
+    /**
+     * Square grids from 1,000 to 100,000 vertices; kept separate because their degree is fixed at about 4.
+     */
+    @State(Scope.Benchmark)
+    public static class Grid extends MSTBenchmark {
+        @Param({"1000", "10000", "100000"})
+        public int vertices;
+
+        @Override
+        protected GraphData createGraph() {
+            return GraphGenerator.grid((int) Math.sqrt(vertices), SEED);
+        }
+    }
+
+    /**
+     * Complete graphs; kept separate because E grows with V².
+     */
+    @State(Scope.Benchmark)
+    public static class Dense extends MSTBenchmark {
+        @Param({"200", "1000", "2000"})
+        public int vertices;
+
+        @Override
+        protected GraphData createGraph() {
+            return GraphGenerator.complete(vertices, SEED);
+        }
+    }
+}
@@ -0,0 +1,111 @@
+package org.example;
+
+import com.google.gson.Gson;
+import com.google.gson.stream.JsonWriter;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.*;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Parse-only benchmark of the graph input: Gson's reflective adapters against the
+ * hand-written {@link GraphTypeAdapters}, on a generated input file of {@link #sizeMb} MB.
+ *
+ * The adapters already build each graph's compact form while parsing, which the reflective
+ * path only does when the algorithms first need it; {@link #reflectiveCompact()} adds that step,
+ * so it is the like-for-like comparison of "ready to run" graphs.
+ *
+ * Every invocation parses the whole file once, so single-shot time is reported; run with
+ * {@code -prof gc} (or {@link BenchmarkRunner} with "ParseBenchmark" as the include pattern)
+ * to compare the bytes allocated per parse.
+ */
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(value = 1, jvmArgsAppend = {"-Xms6g", "-Xmx6g"})
+@State(Scope.Benchmark)
+public class ParseBenchmark {
+
+    /** Approximate size of the generated input file */
+    @Param({"300"})
+    public int sizeMb;
+
+    /** Edges per generated graph */
+    @Param({"1000000"})
+    public int edgesPerGraph;
+
+    private Path input;
+    private Gson reflective;
+    private Gson adapters;
+
+    @Setup(Level.Trial)
+    public void writeInput() throws IOException {
+        reflective = new Gson();
+        adapters = GraphTypeAdapters.create();
+        input = Files.createTempFile("mst-parse", ".json");
+        // Sparse graphs in the input schema until the file reaches the target size.
+        long target = (long) sizeMb << 20;
+        Gson writer = GraphTypeAdapters.create();
+        try (JsonWriter out = new JsonWriter(Files.newBufferedWriter(input, StandardCharsets.UTF_8))) {
+            out.beginObject().name("graphs").beginArray();
+            for (int id = 1; Files.size(input) < target; id++) {
+                GraphData g = GraphGenerator.sparse(edgesPerGraph / 4, edgesPerGraph, MSTBenchmark.SEED + id);
+                g.setId(id);
+                writer.toJson(g, GraphData.class, out);
+                out.flush();
+            }
+            out.endArray().endObject();
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void deleteInput() throws IOException {
+        Files.deleteIfExists(input);
+    }
+
+    /**
+     * Baseline: the whole file through Gson's reflective adapters, as {@link MSTComparison.InputGraphs}.
+     */
+    @Benchmark
+    public MSTComparison.InputGraphs reflective() throws IOException {
+        try (Reader in = Files.newBufferedReader(input, StandardCharsets.UTF_8)) {
+            return reflective.fromJson(in, MSTComparison.InputGraphs.class);
+        }
+    }
+
+    /**
+     * The reflective parse followed by building every graph's compact form.
+     */
+    @Benchmark
+    public MSTComparison.InputGraphs reflectiveCompact() throws IOException {
+        MSTComparison.InputGraphs parsed = reflective();
+        for (GraphData g : parsed.graphs) g.toCompact();
+        return parsed;
+    }
+
+    /**
+     * The whole file through the hand-written adapters.
+     */
+    @Benchmark
+    public MSTComparison.InputGraphs adapters() throws IOException {
+        try (Reader in = Files.newBufferedReader(input, StandardCharsets.UTF_8)) {
+            return adapters.fromJson(in, MSTComparison.InputGraphs.class);
+        }
+    }
+
+    /**
+     * One graph at a time, as {@link MSTComparison} reads its input.
+     */
+    @Benchmark
+    public void streaming(Blackhole blackhole) throws IOException {
+        try (GraphSource graphs = GraphSource.open(input, "all")) {
+            while (graphs.hasNext()) {
+                blackhole.consume(graphs.next());
+            }
+        }
+    }
+}
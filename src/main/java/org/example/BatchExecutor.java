@@ -0,0 +1,100 @@
+package org.example;
+
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.function.BiFunction;
+import java.util.function.Consumer;
+
+/**
+ * Runs independent graphs concurrently while delivering their results in input order.
+ *
+ * Graph tasks run either on virtual threads or on a fixed pool of platform threads.
+ * A semaphore weighted by graph size (vertices + edges) caps how much graph data is
+ * in flight at once, so a stream of large graphs cannot exhaust the heap.
+ */
+public class BatchExecutor implements AutoCloseable {
+    private final ExecutorService executor;
+    private final Semaphore inFlight;
+    private final int maxPermits;
+
+    /**
+     * Creates a batch executor.
+     *
+     * @param threads        number of platform threads (ignored for virtual threads)
+     * @param virtualThreads true to start one virtual thread per task
+     * @param maxInFlight    maximum summed size of graphs being processed at the same time
+     */
+    public BatchExecutor(int threads, boolean virtualThreads, long maxInFlight) {
+        executor = virtualThreads
+                ? Executors.newVirtualThreadPerTaskExecutor()
+                : Executors.newFixedThreadPool(threads);
+        maxPermits = (int) Math.min(Integer.MAX_VALUE, maxInFlight);
+        inFlight = new Semaphore(maxPermits);
+    }
+
+    /**
+     * Returns the executor that graph tasks should use for their own sub-tasks.
+     * @return the executor
+     */
+    public Executor executor() {
+        return executor;
+    }
+
+    /**
+     * Processes all graphs and hands each result to the sink in input order.
+     * Results that finish early are held back until every earlier graph has been delivered.
+     *
+     * @param graphs the graphs to process
+     * @param task   starts the processing of one graph on the given executor
+     * @param sink   receives the results, in input order, on the calling thread
+     * @param <T>    result type
+     * @throws Exception if a graph task failed
+     */
+    public <T> void run(Iterator<GraphData> graphs,
+                        BiFunction<GraphData, Executor, CompletableFuture<T>> task,
+                        Consumer<T> sink) throws Exception {
+        Deque<CompletableFuture<T>> pending = new ArrayDeque<>();
+        while (graphs.hasNext()) {
+            GraphData g = graphs.next();
+            // Wait until enough of the in-flight budget is free for this graph.
+            int permits = weight(g);
+            inFlight.acquire(permits);
+            CompletableFuture<T> future;
+            try {
+                future = task.apply(g, executor);
+            } catch (RuntimeException e) {
+                inFlight.release(permits);
+                throw e;
+            }
+            future.whenComplete((r, e) -> inFlight.release(permits));
+            pending.add(future);
+            // Deliver every finished result at the head of the queue.
+            while (!pending.isEmpty() && pending.peek().isDone()) {
+                sink.accept(get(pending.poll()));
+            }
+        }
+        while (!pending.isEmpty()) {
+            sink.accept(get(pending.poll()));
+        }
+    }
+
+    private int weight(GraphData g) {
+        long size = 1L + (g.getNodes() == null ? 0 : g.getNodes().size())
+                + (g.getEdges() == null ? 0 : g.getEdges().size());
+        return (int) Math.min(size, maxPermits);
+    }
+
+    private static <T> T get(CompletableFuture<T> future) throws Exception {
+        try {
+            return future.get();
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof Exception cause) throw cause;
+            throw e;
+        }
+    }
+
+    @Override
+    public void close() {
+        executor.shutdown();
+    }
+}
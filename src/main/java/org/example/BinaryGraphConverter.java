@@ -0,0 +1,36 @@
+package org.example;
+
+import java.nio.file.*;
+
+/**
+ * Command-line tool that converts a JSON input file ({@code {"graphs": [...]}} with
+ * {@link GraphData} and {@link Edge} objects) into the binary graph format of
+ * {@link BinaryGraphFile}.
+ *
+ * Usage: BinaryGraphConverter &lt;input.json&gt; &lt;output.bin&gt;
+ */
+public class BinaryGraphConverter {
+
+    /**
+     * Entry point of the converter.
+     * Graphs are streamed from the JSON file, validated and interned one at a time,
+     * and appended to the binary file.
+     */
+    public static void main(String[] args) throws Exception {
+        if (args.length != 2) {
+            System.out.println("Usage: BinaryGraphConverter <input.json> <output.bin>");
+            return;
+        }
+        int count = 0;
+        try (GraphSource graphs = GraphSource.open(Paths.get(args[0]), "all");
+             BinaryGraphFile.Writer writer = new BinaryGraphFile.Writer(Paths.get(args[1]))) {
+            while (graphs.hasNext()) {
+                GraphData g = graphs.next();
+                // The compact form drops invalid edges, so the binary file only holds valid ones.
+                writer.add(g.getId(), g.getType(), g.toCompact());
+                count++;
+            }
+        }
+        System.out.println("Converted " + count + " graphs to " + args[1]);
+    }
+}
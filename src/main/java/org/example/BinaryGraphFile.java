@@ -0,0 +1,355 @@
+package org.example;
+
+import java.io.*;
+import java.lang.foreign.Arena;
+import java.lang.foreign.MemorySegment;
+import java.lang.foreign.ValueLayout;
+import java.nio.*;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.*;
+import java.util.*;
+
+/**
+ * Compact binary container for many graphs, read through memory-mapped files.
+ *
+ * Layout (all numbers little-endian):
+ * <pre>
+ * header     : "MSTG" | int version | int graphCount | int reserved | long directoryOffset
+ * graph block: int id | int vertexCount | int edgeCount | int typeBytes | int nameBytes
+ *              | type (UTF-8, padded to 4 bytes)
+ *              | int nameEnd[vertexCount] | names (UTF-8, padded to 4 bytes)
+ *              | int from[edgeCount] | int to[edgeCount] | int weight[edgeCount]
+ * directory  : graphCount x (long blockOffset | long blockLength)
+ * </pre>
+ * Edges are stored already interned and validated, so loading a graph needs no parsing:
+ * blocks are mapped as {@link MemorySegment}s (no 2 GB limit) and the edge arrays are served
+ * in place through an {@link OffHeapEdgeStore} as the edges of the {@link GraphData} returned by
+ * {@link #read(int, String)}.
+ */
+public class BinaryGraphFile implements Closeable {
+    /** File signature */
+    private static final byte[] MAGIC = {'M', 'S', 'T', 'G'};
+    /** Current format version */
+    public static final int VERSION = 1;
+    private static final int HEADER_BYTES = 24;
+    private static final int BLOCK_HEADER_BYTES = 20;
+    private static final ValueLayout.OfInt INT = ValueLayout.JAVA_INT_UNALIGNED.withOrder(ByteOrder.LITTLE_ENDIAN);
+    private static final ValueLayout.OfLong LONG = ValueLayout.JAVA_LONG_UNALIGNED.withOrder(ByteOrder.LITTLE_ENDIAN);
+
+    private final FileChannel channel;
+    /** Start offset of every graph block */
+    private final long[] blockOffsets;
+    /** Length of every graph block */
+    private final long[] blockLengths;
+
+    private BinaryGraphFile(FileChannel channel, long[] blockOffsets, long[] blockLengths) {
+        this.channel = channel;
+        this.blockOffsets = blockOffsets;
+        this.blockLengths = blockLengths;
+    }
+
+    /**
+     * Checks whether a file starts with the binary graph signature.
+     *
+     * @param path the file to check
+     * @return true if the file is in the binary graph format
+     * @throws IOException if the file cannot be read
+     */
+    public static boolean isBinary(Path path) throws IOException {
+        try (InputStream in = Files.newInputStream(path)) {
+            return Arrays.equals(in.readNBytes(MAGIC.length), MAGIC);
+        }
+    }
+
+    /**
+     * Opens a binary graph file and reads its directory.
+     *
+     * @param path the file to open
+     * @return the opened file
+     * @throws IOException if the file cannot be read or is not a valid graph file
+     */
+    public static BinaryGraphFile open(Path path) throws IOException {
+        FileChannel channel = FileChannel.open(path, StandardOpenOption.READ);
+        try (Arena arena = Arena.ofConfined()) {
+            MemorySegment header = map(channel, 0, HEADER_BYTES, arena);
+            byte[] magic = header.asSlice(0, MAGIC.length).toArray(ValueLayout.JAVA_BYTE);
+            if (!Arrays.equals(magic, MAGIC)) throw new IOException("Not a binary graph file: " + path);
+            int version = header.get(INT, 4);
+            if (version != VERSION) throw new IOException("Unsupported binary graph version: " + version);
+            int graphCount = header.get(INT, 8);
+            long directoryOffset = header.get(LONG, 16);
+            if (graphCount < 0) throw new IOException("Invalid graph count: " + graphCount);
+
+            MemorySegment directory = map(channel, directoryOffset, 16L * graphCount, arena);
+            long[] offsets = new long[graphCount];
+            long[] lengths = new long[graphCount];
+            for (int i = 0; i < graphCount; i++) {
+                offsets[i] = directory.get(LONG, 16L * i);
+                lengths[i] = directory.get(LONG, 16L * i + 8);
+            }
+            return new BinaryGraphFile(channel, offsets, lengths);
+        } catch (IOException | RuntimeException e) {
+            channel.close();
+            throw e;
+        }
+    }
+
+    /**
+     * Returns the number of graphs in the file.
+     * @return graph count
+     */
+    public int getGraphCount() {
+        return blockOffsets.length;
+    }
+
+    /**
+     * Reads the graph at the given directory index. Only the type and the vertex names are
+     * decoded onto the heap; the edges stay in the mapped file and are served through an
+     * {@link OffHeapEdgeStore}. The mapping is released when the graph is no longer reachable.
+     *
+     * @param index      directory index
+     * @param filterType graph type to keep, or "all"
+     * @return the graph, or null if its type does not match the filter
+     * @throws IOException if the block cannot be mapped or is malformed
+     */
+    public GraphData read(int index, String filterType) throws IOException {
+        Block block = block(index, filterType, Arena.ofAuto());
+        return block == null ? null : GraphData.of(block.id, block.type, block.edges);
+    }
+
+    /** A decoded graph block whose edges are still in the mapped file */
+    private record Block(int id, String type, OffHeapEdgeStore edges) {
+    }
+
+    /**
+     * Maps one graph block and decodes its header, type and vertex names.
+     *
+     * @param index      directory index
+     * @param filterType graph type to keep, or "all"
+     * @param arena      arena that owns the mapping
+     * @return the block, or null if its type does not match the filter
+     * @throws IOException if the block cannot be mapped or is malformed
+     */
+    private Block block(int index, String filterType, Arena arena) throws IOException {
+        MemorySegment block = map(channel, blockOffsets[index], blockLengths[index], arena);
+        try {
+            int id = block.get(INT, 0);
+            int vertexCount = block.get(INT, 4);
+            int edgeCount = block.get(INT, 8);
+            int typeBytes = block.get(INT, 12);
+            int nameBytes = block.get(INT, 16);
+            if (vertexCount < 0 || edgeCount < 0 || typeBytes < 0 || nameBytes < 0) {
+                throw new IOException("negative size");
+            }
+            long position = BLOCK_HEADER_BYTES;
+            String type = string(block, position, typeBytes);
+            // Skip graphs of other types before touching their names or edges.
+            if (!filterType.equals("all") && !type.trim().equalsIgnoreCase(filterType)) {
+                return null;
+            }
+            position += padded(typeBytes);
+
+            // Vertex names: end offsets followed by the UTF-8 blob.
+            long blobStart = position + 4L * vertexCount;
+            String[] names = new String[vertexCount];
+            int start = 0;
+            for (int v = 0; v < vertexCount; v++) {
+                int end = block.get(INT, position + 4L * v);
+                names[v] = string(block, blobStart + start, end - start);
+                start = end;
+            }
+            position = blobStart + padded(nameBytes);
+
+            // Edge arrays: wrapped in place, no copy.
+            MemorySegment edges = block.asSlice(position, 12L * edgeCount);
+            return new Block(id, type, OffHeapEdgeStore.wrap(edges, edgeCount, names));
+        } catch (IOException | IndexOutOfBoundsException | IllegalArgumentException e) {
+            throw new IOException("Malformed graph block " + index + ": " + e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Returns the graphs of the file one at a time; closing the source closes the file.
+     *
+     * @param filterType graph type to keep (small, medium, large), or "all"
+     * @return the graph source
+     */
+    public GraphSource graphs(String filterType) {
+        return new GraphSource() {
+            private int index;
+            private GraphData next;
+
+            @Override
+            public boolean hasNext() {
+                try {
+                    while (next == null && index < blockOffsets.length) {
+                        next = read(index++, filterType);
+                    }
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+                return next != null;
+            }
+
+            @Override
+            public GraphData next() {
+                if (!hasNext()) throw new NoSuchElementException();
+                GraphData g = next;
+                next = null;
+                return g;
+            }
+
+            @Override
+            public void close() throws IOException {
+                BinaryGraphFile.this.close();
+            }
+        };
+    }
+
+    @Override
+    public void close() throws IOException {
+        channel.close();
+    }
+
+    /**
+     * Writes graphs in the binary format. Graph blocks are appended one at a time;
+     * the directory and the final header are written on {@link #close()}.
+     */
+    public static class Writer implements Closeable {
+        private final FileChannel channel;
+        private final ByteBuffer buffer = ByteBuffer.allocate(1 << 16).order(ByteOrder.LITTLE_ENDIAN);
+        private final List<long[]> directory = new ArrayList<>();
+        private long position = HEADER_BYTES;
+
+        /**
+         * Creates (or truncates) a binary graph file.
+         *
+         * @param path the file to write
+         * @throws IOException if the file cannot be created
+         */
+        public Writer(Path path) throws IOException {
+            channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                    StandardOpenOption.TRUNCATE_EXISTING);
+            channel.position(HEADER_BYTES);
+        }
+
+        /**
+         * Appends one graph.
+         *
+         * @param id   the graph id
+         * @param type the graph type
+         * @param cg   the compact (validated, interned) form of the graph
+         * @throws IOException if writing fails
+         */
+        public void add(int id, String type, CompactGraph cg) throws IOException {
+            long start = position;
+            byte[] typeBytes = (type == null ? "" : type).getBytes(StandardCharsets.UTF_8);
+            byte[][] names = new byte[cg.getVertexCount()][];
+            int nameBytes = 0;
+            for (int v = 0; v < names.length; v++) {
+                names[v] = cg.getName(v).getBytes(StandardCharsets.UTF_8);
+                nameBytes += names[v].length;
+            }
+
+            putInt(id);
+            putInt(cg.getVertexCount());
+            putInt(cg.getEdgeCount());
+            putInt(typeBytes.length);
+            putInt(nameBytes);
+            putBytes(typeBytes);
+            pad(typeBytes.length);
+            int end = 0;
+            for (byte[] name : names) {
+                end += name.length;
+                putInt(end);
+            }
+            for (byte[] name : names) putBytes(name);
+            pad(nameBytes);
+            putInts(cg.getFrom());
+            putInts(cg.getTo());
+            putInts(cg.getWeight());
+            flush();
+            directory.add(new long[]{start, position - start});
+        }
+
+        /**
+         * Writes the directory and the header, then closes the file.
+         */
+        @Override
+        public void close() throws IOException {
+            try {
+                long directoryOffset = position;
+                for (long[] entry : directory) {
+                    putLong(entry[0]);
+                    putLong(entry[1]);
+                }
+                flush();
+                buffer.put(MAGIC).putInt(VERSION).putInt(directory.size()).putInt(0).putLong(directoryOffset);
+                buffer.flip();
+                while (buffer.hasRemaining()) channel.write(buffer, HEADER_BYTES - buffer.remaining());
+                buffer.clear();
+            } finally {
+                channel.close();
+            }
+        }
+
+        private void ensure(int bytes) throws IOException {
+            if (buffer.remaining() < bytes) flush();
+        }
+
+        private void putInt(int value) throws IOException {
+            ensure(4);
+            buffer.putInt(value);
+        }
+
+        private void putLong(long value) throws IOException {
+            ensure(8);
+            buffer.putLong(value);
+        }
+
+        private void putInts(int[] values) throws IOException {
+            for (int value : values) putInt(value);
+        }
+
+        private void putBytes(byte[] bytes) throws IOException {
+            int offset = 0;
+            while (offset < bytes.length) {
+                ensure(1);
+                int n = Math.min(buffer.remaining(), bytes.length - offset);
+                buffer.put(bytes, offset, n);
+                offset += n;
+            }
+        }
+
+        private void pad(int length) throws IOException {
+            for (int i = length; i < padded(length); i++) {
+                ensure(1);
+                buffer.put((byte) 0);
+            }
+        }
+
+        private void flush() throws IOException {
+            buffer.flip();
+            position += buffer.remaining();
+            while (buffer.hasRemaining()) channel.write(buffer);
+            buffer.clear();
+        }
+    }
+
+    private static MemorySegment map(FileChannel channel, long offset, long length, Arena arena)
+            throws IOException {
+        if (offset < 0 || length < 0 || offset + length > channel.size()) {
+            throw new IOException("Invalid block at offset " + offset + " (length " + length + ")");
+        }
+        return channel.map(FileChannel.MapMode.READ_ONLY, offset, length, arena);
+    }
+
+    private static String string(MemorySegment block, long offset, int length) {
+        return new String(block.asSlice(offset, length).toArray(ValueLayout.JAVA_BYTE), StandardCharsets.UTF_8);
+    }
+
+    private static int padded(int length) {
+        return (length + 3) & ~3;
+    }
+}
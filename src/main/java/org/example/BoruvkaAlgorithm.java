@@ -0,0 +1,217 @@
+package org.example;
+
+import java.util.*;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.stream.IntStream;
+
+/**
+ * Parallel implementation of Borůvka’s algorithm for finding the Minimum Spanning Tree (MST).
+ *
+ * Every round, each component picks its cheapest outgoing edge; all picked edges are added
+ * at once and the components they connect are contracted. The number of components at least
+ * halves per round, so there are O(log V) rounds, and the edge scan of each round runs in
+ * parallel on a {@link ForkJoinPool}.
+ *
+ * The per-component minimum is kept in an {@link AtomicLongArray} of packed
+ * (weight, edge id) keys that threads lower with compare-and-set. Because edge ids break ties,
+ * all threads agree on one total order and no cycle can be formed.
+ */
+public class BoruvkaAlgorithm {
+
+    /** Marker for "no outgoing edge found yet" (the largest unsigned key) */
+    private static final long NONE = -1L;
+
+    /**
+     * Helper class to store the results of Borůvka’s algorithm:
+     * - mstEdges: list of edges in the resulting MST.
+     * - totalCost: sum of weights of all MST edges.
+     * - operationsCount: number of significant algorithmic steps performed (sum of the metrics counters).
+     * - validationCount: number of lookups spent validating vertices and edges.
+     * - rounds: number of contraction rounds.
+     * - parallelism: parallelism of the pool the algorithm ran on.
+     * - executionTimeMs: total time taken to execute the algorithm.
+     * - cpuTimeMs: CPU time of the calling thread (pool workers excluded, -1 if not measurable).
+     * - metrics: separate counters and per-phase timings (including building the compact graph).
+     */
+    public static class Result {
+        public List<Edge> mstEdges = new ArrayList<>();
+        public int totalCost;
+        public long operationsCount;
+        public int validationCount;
+        public int rounds;
+        public int parallelism;
+        public double executionTimeMs;
+        public double cpuTimeMs;
+        public Metrics metrics;
+        public boolean cached;
+    }
+
+    private final Result result;
+    // Counters shared by the pool workers; they are copied into the metrics at the end.
+    private final LongAdder scans = new LongAdder();
+    private final LongAdder finds = new LongAdder();
+    private final LongAdder unions = new LongAdder();
+
+    /**
+     * Runs Borůvka’s algorithm on a dedicated pool with one worker per available processor.
+     *
+     * @param graph The input graph data.
+     * @param nodes List of vertices in the graph.
+     * @param edges List of edges with weights.
+     */
+    public BoruvkaAlgorithm(GraphData graph, List<String> nodes, List<Edge> edges) {
+        this(graph, nodes, edges, Runtime.getRuntime().availableProcessors());
+    }
+
+    /**
+     * Runs Borůvka’s algorithm on a dedicated pool with the given parallelism.
+     *
+     * @param graph       The input graph data.
+     * @param nodes       List of vertices in the graph.
+     * @param edges       List of edges with weights.
+     * @param parallelism Number of worker threads.
+     */
+    public BoruvkaAlgorithm(GraphData graph, List<String> nodes, List<Edge> edges, int parallelism) {
+        ForkJoinPool pool = new ForkJoinPool(parallelism);
+        try {
+            result = run(graph, nodes, edges, pool);
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    /**
+     * Runs Borůvka’s algorithm on an existing pool (the pool is not shut down).
+     *
+     * @param graph The input graph data.
+     * @param nodes List of vertices in the graph.
+     * @param edges List of edges with weights.
+     * @param pool  The pool that runs the parallel edge scans.
+     */
+    public BoruvkaAlgorithm(GraphData graph, List<String> nodes, List<Edge> edges, ForkJoinPool pool) {
+        result = run(graph, nodes, edges, pool);
+    }
+
+    public Result getResult() {
+        return result;
+    }
+
+    private Result run(GraphData graph, List<String> nodes, List<Edge> edges, ForkJoinPool pool) {
+        long start = System.nanoTime();
+        long cpuStart = CpuTime.now();
+        Result r = new Result();
+
+        // Step 1: Obtain the compact graph.
+        CompactGraph cg = CompactGraph.of(graph, nodes, edges);
+        r.metrics = new Metrics("boruvka");
+        r.metrics.include(cg.getBuildMetrics());
+        r.validationCount = cg.getValidationCount();
+        r.parallelism = pool.getParallelism();
+
+        // Step 2: Run all rounds inside the pool, so the parallel streams use its workers.
+        // Only the calling thread is timed: the wall time is exact, CPU time and allocations exclude the workers.
+        int[] accepted;
+        try (var _ = r.metrics.phase("rounds")) {
+            accepted = pool.submit(() -> boruvka(cg, r)).join();
+        }
+
+        // Step 3: Map the accepted edge ids back to named edges.
+        for (int e : accepted) {
+            r.mstEdges.add(cg.toEdge(e));
+            r.totalCost += cg.getWeight()[e];
+        }
+        r.metrics.scans += scans.sum();
+        r.metrics.finds += finds.sum();
+        r.metrics.unions += unions.sum();
+        r.operationsCount = r.metrics.operations();
+        r.executionTimeMs = (System.nanoTime() - start) / 1_000_000.0;
+        // Only the calling thread is measured; the pool workers' CPU time is not included.
+        r.cpuTimeMs = CpuTime.elapsedMs(cpuStart);
+        r.metrics.commit("boruvka", cg.getVertexCount(), cg.getEdgeCount(), r.totalCost);
+        return r;
+    }
+
+    /**
+     * Runs the contraction rounds.
+     *
+     * @param cg The compact graph.
+     * @param r  The result (the round count is recorded in it).
+     * @return the ids of the MST edges
+     */
+    private int[] boruvka(CompactGraph cg, Result r) {
+        int n = cg.getVertexCount();
+        int[] from = cg.getFrom();
+        int[] to = cg.getTo();
+        int[] weight = cg.getWeight();
+        int needed = Math.max(n - 1, 0);
+
+        DisjointSet sets = new DisjointSet(n);
+        // 'comp' is the component root of every vertex at the start of the round.
+        int[] comp = new int[n];
+        for (int v = 0; v < n; v++) comp[v] = v;
+        AtomicLongArray cheapest = new AtomicLongArray(n);
+        int[] accepted = new int[needed];
+        int acceptedCount = 0;
+
+        // Self-loops can never be part of the tree; every other edge is alive initially.
+        int[] live = IntStream.range(0, cg.getEdgeCount()).parallel()
+                .filter(e -> from[e] != to[e]).toArray();
+
+        while (live.length > 0 && acceptedCount < needed) {
+            r.rounds++;
+            // Step A: Reset the cheapest edge of every component.
+            IntStream.range(0, n).parallel().forEach(v -> cheapest.set(v, NONE));
+
+            // Step B: Every live edge offers itself to both of its components.
+            int[] current = live;
+            IntStream.range(0, current.length).parallel().forEach(i -> {
+                int e = current[i];
+                long key = key(weight[e], e);
+                lowerTo(cheapest, comp[from[e]], key);
+                lowerTo(cheapest, comp[to[e]], key);
+            });
+            scans.add(2L * current.length);
+
+            // Step C: Add the chosen edges; an edge picked by both of its components is added once.
+            for (int v = 0; v < n && acceptedCount < needed; v++) {
+                long key = cheapest.get(v);
+                if (comp[v] != v || key == NONE) continue;
+                int e = (int) key;
+                finds.add(2);
+                if (sets.union(from[e], to[e])) {
+                    unions.increment();
+                    accepted[acceptedCount++] = e;
+                }
+            }
+
+            // Step D: Relabel vertices with their new roots (read-only finds, safe in parallel)
+            // and drop edges that now lie inside one component.
+            IntStream.range(0, n).parallel().forEach(v -> comp[v] = sets.root(v));
+            live = Arrays.stream(current).parallel()
+                    .filter(e -> comp[from[e]] != comp[to[e]]).toArray();
+            finds.add(n);
+            scans.add(current.length);
+        }
+        return Arrays.copyOf(accepted, acceptedCount);
+    }
+
+    /**
+     * Packs a weight and an edge id so that unsigned comparison orders by weight, then by id.
+     */
+    private static long key(int weight, int edge) {
+        return ((long) (weight ^ Integer.MIN_VALUE) & 0xFFFFFFFFL) << 32 | edge;
+    }
+
+    /**
+     * Lowers the slot of a component to the given key with a compare-and-set loop.
+     */
+    private static void lowerTo(AtomicLongArray cheapest, int component, long key) {
+        long current = cheapest.get(component);
+        while (Long.compareUnsigned(key, current) < 0) {
+            if (cheapest.compareAndSet(component, current, key)) return;
+            current = cheapest.get(component);
+        }
+    }
+}
@@ -0,0 +1,303 @@
+package org.example;
+
+import java.util.*;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.IntStream;
+
+/**
+ * Bottleneck (minimax) query index over a minimum spanning tree or forest.
+ *
+ * In an MST the heaviest edge on the tree path between u and v is the minimax weight between
+ * them in the whole graph: no u-v path in the graph has a lighter maximum edge. It is also the
+ * edge a new edge (u, v, w) would replace: the new edge improves the MST exactly when w is
+ * lighter than that edge (cycle property).
+ *
+ * Every tree is rooted at its first vertex, and binary lifting tables store for each vertex its
+ * 2^k-th ancestor and the heaviest edge on the way there. Building them costs O(V log V) time
+ * and memory; each query climbs from both endpoints to their lowest common ancestor in
+ * O(log V). The tables are read-only after construction, so query batches run in parallel.
+ */
+public class BottleneckIndex {
+
+    /** Returned by path-max queries when the vertices are in different trees or are the same vertex */
+    public static final int NO_PATH = Integer.MIN_VALUE;
+
+    private final Map<String, Integer> ids = new HashMap<>();
+    private final String[] names;
+    /** Tree edges */
+    private final int[] from;
+    private final int[] to;
+    private final int[] weight;
+    /** Depth of every vertex below the root of its tree */
+    private final int[] depth;
+    /** Root of the tree of every vertex */
+    private final int[] root;
+    /** up[k][v]: the 2^k-th ancestor of v (the root maps to itself) */
+    private final int[][] up;
+    /** heaviest[k][v]: the heaviest edge between v and up[k][v], or -1 if there is none */
+    private final int[][] heaviest;
+
+    /**
+     * Builds the index for a spanning tree or forest.
+     *
+     * @param nodes    all vertices of the graph (vertices not touched by a tree edge become single-vertex trees)
+     * @param mstEdges the edges of the tree or forest
+     * @throws IllegalArgumentException if an edge references an unknown vertex or the edges contain a cycle
+     */
+    public BottleneckIndex(List<String> nodes, List<Edge> mstEdges) {
+        // Step 1: Intern vertex names and edges.
+        List<String> unique = new ArrayList<>(nodes.size());
+        for (String n : nodes) {
+            if (ids.putIfAbsent(n, unique.size()) == null) unique.add(n);
+        }
+        names = unique.toArray(new String[0]);
+        int n = names.length;
+        int m = mstEdges.size();
+        from = new int[m];
+        to = new int[m];
+        weight = new int[m];
+        DisjointSet sets = new DisjointSet(n);
+        for (int e = 0; e < m; e++) {
+            Edge edge = mstEdges.get(e);
+            from[e] = id(edge.getFrom());
+            to[e] = id(edge.getTo());
+            weight[e] = edge.getWeight();
+            if (!sets.union(from[e], to[e])) {
+                throw new IllegalArgumentException("Tree edges contain a cycle at " + edge);
+            }
+        }
+
+        // Step 2: Build the forest's adjacency in CSR form.
+        int[] offsets = new int[n + 1];
+        for (int e = 0; e < m; e++) {
+            offsets[from[e] + 1]++;
+            offsets[to[e] + 1]++;
+        }
+        for (int v = 0; v < n; v++) offsets[v + 1] += offsets[v];
+        int[] adjEdge = new int[2 * m];
+        int[] next = Arrays.copyOf(offsets, n);
+        for (int e = 0; e < m; e++) {
+            adjEdge[next[from[e]]++] = e;
+            adjEdge[next[to[e]]++] = e;
+        }
+
+        // Step 3: Root every tree at its first vertex with a BFS; record parents and depths.
+        int levels = Math.max(1, 32 - Integer.numberOfLeadingZeros(Math.max(n - 1, 1)));
+        up = new int[levels][];
+        heaviest = new int[levels][];
+        up[0] = new int[n];
+        heaviest[0] = new int[n];
+        depth = new int[n];
+        root = new int[n];
+        boolean[] seen = new boolean[n];
+        int[] queue = new int[n];
+        for (int s = 0; s < n; s++) {
+            if (seen[s]) continue;
+            seen[s] = true;
+            up[0][s] = s;
+            heaviest[0][s] = -1;
+            root[s] = s;
+            int head = 0;
+            int tail = 0;
+            queue[tail++] = s;
+            while (head < tail) {
+                int v = queue[head++];
+                for (int p = offsets[v]; p < offsets[v + 1]; p++) {
+                    int e = adjEdge[p];
+                    int w = from[e] == v ? to[e] : from[e];
+                    if (seen[w]) continue;
+                    seen[w] = true;
+                    up[0][w] = v;
+                    heaviest[0][w] = e;
+                    depth[w] = depth[v] + 1;
+                    root[w] = s;
+                    queue[tail++] = w;
+                }
+            }
+        }
+
+        // Step 4: Double the jumps: a 2^k jump is two 2^(k-1) jumps.
+        for (int k = 1; k < levels; k++) {
+            int[] prevUp = up[k - 1];
+            int[] prevHeaviest = heaviest[k - 1];
+            int[] curUp = new int[n];
+            int[] curHeaviest = new int[n];
+            for (int v = 0; v < n; v++) {
+                int mid = prevUp[v];
+                curUp[v] = prevUp[mid];
+                curHeaviest[v] = heavier(prevHeaviest[v], prevHeaviest[mid]);
+            }
+            up[k] = curUp;
+            heaviest[k] = curHeaviest;
+        }
+    }
+
+    /**
+     * Builds the index from a Kruskal result.
+     * @param graph  the graph
+     * @param result its Kruskal result
+     */
+    public BottleneckIndex(GraphData graph, KruskalAlgorithm.Result result) {
+        this(graph.getNodes(), result.mstEdges);
+    }
+
+    /**
+     * Builds the index from a Prim result.
+     * @param graph  the graph
+     * @param result its Prim result
+     */
+    public BottleneckIndex(GraphData graph, PrimAlgorithm.Result result) {
+        this(graph.getNodes(), result.mstEdges);
+    }
+
+    /**
+     * Returns true if both vertices are in the same tree.
+     *
+     * @param u a vertex
+     * @param v a vertex
+     * @return whether they are connected
+     * @throws IllegalArgumentException if a vertex is unknown
+     */
+    public boolean connected(String u, String v) {
+        return root[id(u)] == root[id(v)];
+    }
+
+    /**
+     * Returns the minimax weight between two vertices: the weight of the heaviest tree edge on their path.
+     *
+     * @param u a vertex
+     * @param v a vertex
+     * @return the weight, or {@link #NO_PATH} if they are in different trees or u equals v
+     * @throws IllegalArgumentException if a vertex is unknown
+     */
+    public int pathMax(String u, String v) {
+        int e = heaviestOnPath(id(u), id(v));
+        return e < 0 ? NO_PATH : weight[e];
+    }
+
+    /**
+     * Returns the tree edge that a new edge (u, v, w) would replace, i.e. the heaviest edge on the
+     * tree path between u and v if it is heavier than w.
+     *
+     * @param u a vertex
+     * @param v a vertex
+     * @param w the weight of the new edge
+     * @return the replaced tree edge, or null if the new edge would not improve the tree
+     *         (including when u and v are in different trees, where it would join them instead)
+     * @throws IllegalArgumentException if a vertex is unknown
+     */
+    public Edge replacedEdge(String u, String v, int w) {
+        int e = heaviestOnPath(id(u), id(v));
+        return e >= 0 && weight[e] > w ? toEdge(e) : null;
+    }
+
+    /**
+     * Answers a batch of path-max queries in parallel; the weights of the query edges are ignored.
+     *
+     * @param queries vertex pairs
+     * @param pool    the pool to run on
+     * @return the answer of every query in order ({@link #NO_PATH} as in {@link #pathMax})
+     * @throws IllegalArgumentException if a vertex is unknown
+     */
+    public int[] pathMaxBatch(List<Edge> queries, ForkJoinPool pool) {
+        int[] u = new int[queries.size()];
+        int[] v = new int[queries.size()];
+        resolve(queries, u, v);
+        int[] answers = new int[u.length];
+        pool.submit(() -> IntStream.range(0, u.length).parallel().forEach(i -> {
+            int e = heaviestOnPath(u[i], v[i]);
+            answers[i] = e < 0 ? NO_PATH : weight[e];
+        })).join();
+        return answers;
+    }
+
+    /**
+     * Answers a batch of edge-replacement queries in parallel.
+     *
+     * @param candidates candidate new edges
+     * @param pool       the pool to run on
+     * @return for every candidate, the tree edge it would replace or null (as in {@link #replacedEdge})
+     * @throws IllegalArgumentException if a vertex is unknown
+     */
+    public List<Edge> replacedEdgeBatch(List<Edge> candidates, ForkJoinPool pool) {
+        int[] u = new int[candidates.size()];
+        int[] v = new int[candidates.size()];
+        resolve(candidates, u, v);
+        Edge[] answers = new Edge[u.length];
+        pool.submit(() -> IntStream.range(0, u.length).parallel().forEach(i -> {
+            int e = heaviestOnPath(u[i], v[i]);
+            if (e >= 0 && weight[e] > candidates.get(i).getWeight()) answers[i] = toEdge(e);
+        })).join();
+        return Arrays.asList(answers);
+    }
+
+    /**
+     * Returns the number of vertices.
+     * @return vertex count
+     */
+    public int getVertexCount() {
+        return names.length;
+    }
+
+    /**
+     * Climbs from both vertices to their lowest common ancestor.
+     *
+     * @return the heaviest edge on the path, or -1 if there is none
+     */
+    private int heaviestOnPath(int u, int v) {
+        if (root[u] != root[v]) return -1;
+        int best = -1;
+        // Lift the deeper vertex to the depth of the other one.
+        if (depth[u] < depth[v]) {
+            int t = u;
+            u = v;
+            v = t;
+        }
+        int diff = depth[u] - depth[v];
+        for (int k = 0; diff > 0; k++, diff >>>= 1) {
+            if ((diff & 1) != 0) {
+                best = heavier(best, heaviest[k][u]);
+                u = up[k][u];
+            }
+        }
+        if (u == v) return best;
+        // Lift both while their ancestors differ; they end up as children of the LCA.
+        for (int k = up.length - 1; k >= 0; k--) {
+            if (up[k][u] != up[k][v]) {
+                best = heavier(best, heavier(heaviest[k][u], heaviest[k][v]));
+                u = up[k][u];
+                v = up[k][v];
+            }
+        }
+        return heavier(best, heavier(heaviest[0][u], heaviest[0][v]));
+    }
+
+    /**
+     * Returns the heavier of two edges (-1 stands for no edge).
+     */
+    private int heavier(int a, int b) {
+        if (a < 0) return b;
+        if (b < 0) return a;
+        return weight[b] > weight[a] ? b : a;
+    }
+
+    private void resolve(List<Edge> queries, int[] u, int[] v) {
+        for (int i = 0; i < u.length; i++) {
+            Edge q = queries.get(i);
+            u[i] = id(q.getFrom());
+            v[i] = id(q.getTo());
+        }
+    }
+
+    private int id(String name) {
+        Integer id = ids.get(name);
+        if (id == null) {
+            throw new IllegalArgumentException("Unknown vertex: " + name);
+        }
+        return id;
+    }
+
+    private Edge toEdge(int e) {
+        return new Edge(names[from[e]], names[to[e]], weight[e]);
+    }
+}
@@ -0,0 +1,411 @@
+package org.example;
+
+import java.util.*;
+
+/**
+ * Compact, integer-interned representation of a graph used by the MST algorithms.
+ *
+ * Vertex names are mapped to dense ids in the range [0, V), edges are stored in
+ * primitive from/to/weight arrays, and the undirected adjacency is kept in CSR form
+ * (an offsets array plus parallel neighbor/weight/edge-id arrays).
+ * Names are only needed again when an MST edge is turned back into an {@link Edge}.
+ * It is the on-heap {@link EdgeSource}; the CSR adjacency is what Prim’s algorithm needs.
+ */
+public class CompactGraph implements EdgeSource {
+    /** Vertex names indexed by their dense id */
+    private final String[] names;
+    /** Reverse mapping from vertex name to dense id */
+    private final Map<String, Integer> ids;
+
+    /** Number of lookups spent validating vertices and edges */
+    private final int validationCount;
+    /** Counters and timings of building this compact form (validation and adjacency build) */
+    private final Metrics buildMetrics = new Metrics("compact");
+
+    /** Source vertex id of each valid edge */
+    private final int[] from;
+    /** Destination vertex id of each valid edge */
+    private final int[] to;
+    /** Weight of each valid edge */
+    private final int[] weight;
+
+    /** CSR offsets: the neighbors of vertex v are stored at [offsets[v], offsets[v + 1]) */
+    private final int[] offsets;
+    /** CSR neighbor vertex id for every adjacency slot */
+    private final int[] adjVertex;
+    /** CSR edge weight for every adjacency slot */
+    private final int[] adjWeight;
+    /** CSR edge id (index into from/to/weight) for every adjacency slot */
+    private final int[] adjEdge;
+
+    /**
+     * Returns the compact form for the given node and edge lists.
+     * When the lists are the graph's own lists, the graph's cached instance is reused,
+     * so the conversion only happens once per graph. For a graph mapped from a binary file this
+     * is a heap copy of its edges; algorithms that only scan the edges use {@link EdgeSource#of}.
+     *
+     * @param graph The graph the lists belong to (used for validation).
+     * @param nodes List of vertices.
+     * @param edges List of edges with weights.
+     * @return the compact graph
+     */
+    public static CompactGraph of(GraphData graph, List<String> nodes, List<Edge> edges) {
+        if (nodes == graph.getNodes() && edges == graph.getEdges()) {
+            return graph.toCompact();
+        }
+        return new CompactGraph(graph, nodes, edges);
+    }
+
+    /**
+     * Builds the compact form of a graph.
+     * Edges that reference unknown vertices or that do not exist in the graph are dropped.
+     *
+     * @param graph The graph the lists belong to (used for validation).
+     * @param nodes List of vertices.
+     * @param edges List of edges with weights.
+     */
+    CompactGraph(GraphData graph, List<String> nodes, List<Edge> edges) {
+        try (var _ = buildMetrics.phase("validation")) {
+            // Step 1: Intern vertex names to dense ids (duplicates keep their first id).
+            // The graph's own node list is already interned by its index. A graph marked validated
+            // needs no index at all, so only its vertex ids are built here.
+            boolean skipValidation = graph.isValidated();
+            GraphIndex index = skipValidation ? null : graph.getIndex();
+            int validation = 0;
+            boolean sharedIds = index != null && nodes == graph.getNodes() && nodes != null;
+            if (sharedIds) {
+                ids = index.getVertexIds();
+                names = index.getNames();
+                validation += index.getBuildOperations();
+            } else {
+                ids = new HashMap<>(Math.max(16, nodes.size() * 2));
+                List<String> unique = new ArrayList<>(nodes.size());
+                for (String n : nodes) {
+                    if (ids.putIfAbsent(n, unique.size()) == null) {
+                        unique.add(n);
+                    }
+                }
+                names = unique.toArray(new String[0]);
+            }
+
+            // Step 2: Copy valid edges into primitive arrays.
+            // Unless the graph is marked validated, every edge must reference vertices of the graph
+            // and exist in it; both checks are O(1) lookups in the graph index.
+            int[] f = new int[edges.size()];
+            int[] t = new int[edges.size()];
+            int[] w = new int[edges.size()];
+            int count = 0;
+            for (Edge e : edges) {
+                Integer u = ids.get(e.getFrom());
+                Integer v = ids.get(e.getTo());
+                if (u == null || v == null) continue;
+                if (!skipValidation) {
+                    validation++;
+                    int gu = sharedIds ? u : index.getId(e.getFrom());
+                    int gv = sharedIds ? v : index.getId(e.getTo());
+                    if (gu < 0 || gv < 0 || !index.hasEdge(gu, gv)) continue;
+                }
+                f[count] = u;
+                t[count] = v;
+                w[count] = e.getWeight();
+                count++;
+            }
+            validationCount = validation;
+            buildMetrics.validations = validation;
+            from = Arrays.copyOf(f, count);
+            to = Arrays.copyOf(t, count);
+            weight = Arrays.copyOf(w, count);
+        }
+
+        // Step 3: Build the CSR adjacency; every edge is stored in both directions.
+        offsets = new int[names.length + 1];
+        adjVertex = new int[2 * from.length];
+        adjWeight = new int[2 * from.length];
+        adjEdge = new int[2 * from.length];
+        buildAdjacency();
+    }
+
+    /**
+     * Builds the compact form from already interned arrays, e.g. loaded from a binary graph file.
+     * The edges are trusted to be valid; only the vertex ids are range-checked.
+     *
+     * @param names  vertex names indexed by id
+     * @param from   source vertex id of each edge
+     * @param to     destination vertex id of each edge
+     * @param weight weight of each edge
+     * @throws IllegalArgumentException if an edge references a vertex id out of range
+     */
+    public CompactGraph(String[] names, int[] from, int[] to, int[] weight) {
+        this(names, nameIds(names), from, to, weight, 0);
+    }
+
+    /**
+     * Builds a compact graph whose name-to-id map was already built, and whose edges were already
+     * validated, while reading the input.
+     *
+     * @param names           vertex names indexed by id
+     * @param ids             id of every name (ids.get(names[v]) == v)
+     * @param from            source vertex id of each edge
+     * @param to              destination vertex id of each edge
+     * @param weight          weight of each edge
+     * @param validationCount vertex-id lookups the reader spent validating the nodes and edges
+     */
+    CompactGraph(String[] names, Map<String, Integer> ids, int[] from, int[] to, int[] weight,
+                 int validationCount) {
+        this.names = names;
+        this.ids = ids;
+        for (int e = 0; e < from.length; e++) {
+            if (from[e] < 0 || from[e] >= names.length || to[e] < 0 || to[e] >= names.length) {
+                throw new IllegalArgumentException("Edge " + e + " references an unknown vertex id");
+            }
+        }
+        this.validationCount = validationCount;
+        buildMetrics.validations = validationCount;
+        this.from = from;
+        this.to = to;
+        this.weight = weight;
+        offsets = new int[names.length + 1];
+        adjVertex = new int[2 * from.length];
+        adjWeight = new int[2 * from.length];
+        adjEdge = new int[2 * from.length];
+        buildAdjacency();
+    }
+
+    private static Map<String, Integer> nameIds(String[] names) {
+        Map<String, Integer> ids = new HashMap<>(Math.max(16, names.length * 2));
+        for (int v = 0; v < names.length; v++) {
+            ids.putIfAbsent(names[v], v);
+        }
+        return ids;
+    }
+
+    /**
+     * Copies any edge source (e.g. an off-heap store) into an on-heap compact graph with CSR adjacency.
+     *
+     * @param source the edges to copy
+     * @return the compact graph (the source itself if it already is one)
+     */
+    public static CompactGraph copyOf(EdgeSource source) {
+        if (source instanceof CompactGraph cg) return cg;
+        String[] names = new String[source.getVertexCount()];
+        for (int v = 0; v < names.length; v++) names[v] = source.getName(v);
+        int[] f = new int[source.getEdgeCount()];
+        int[] t = new int[f.length];
+        int[] w = new int[f.length];
+        for (int e = 0; e < f.length; e++) {
+            f[e] = source.getFrom(e);
+            t[e] = source.getTo(e);
+            w[e] = source.getWeight(e);
+        }
+        return new CompactGraph(names, f, t, w);
+    }
+
+    /**
+     * Fills the CSR arrays from the edge arrays; every edge is stored in both directions.
+     */
+    private void buildAdjacency() {
+        try (var _ = buildMetrics.phase("adjacency_build")) {
+            fillAdjacency();
+        }
+        buildMetrics.adjacencyEntries = adjEdge.length;
+    }
+
+    private void fillAdjacency() {
+        int vertexCount = names.length;
+        int count = from.length;
+        for (int e = 0; e < count; e++) {
+            offsets[from[e] + 1]++;
+            offsets[to[e] + 1]++;
+        }
+        for (int v = 0; v < vertexCount; v++) {
+            offsets[v + 1] += offsets[v];
+        }
+        int[] next = Arrays.copyOf(offsets, vertexCount);
+        for (int e = 0; e < count; e++) {
+            int p = next[from[e]]++;
+            adjVertex[p] = to[e];
+            adjWeight[p] = weight[e];
+            adjEdge[p] = e;
+            p = next[to[e]]++;
+            adjVertex[p] = from[e];
+            adjWeight[p] = weight[e];
+            adjEdge[p] = e;
+        }
+    }
+
+    /**
+     * Returns the number of vertices.
+     * @return vertex count
+     */
+    @Override
+    public int getVertexCount() {
+        return names.length;
+    }
+
+    /**
+     * Returns the number of valid edges.
+     * @return edge count
+     */
+    @Override
+    public int getEdgeCount() {
+        return from.length;
+    }
+
+    /**
+     * Returns the number of lookups spent validating vertices and edges
+     * while this compact form was built (0 for graphs marked validated).
+     * @return validation operation count
+     */
+    public int getValidationCount() {
+        return validationCount;
+    }
+
+    /**
+     * Returns the counters and timings of building this compact form.
+     * The compact form is shared by all algorithms of a graph, so they all report these.
+     * @return the build metrics
+     */
+    public Metrics getBuildMetrics() {
+        return buildMetrics;
+    }
+
+    /**
+     * Returns the name of a vertex.
+     * @param id the dense vertex id
+     * @return the vertex name
+     */
+    @Override
+    public String getName(int id) {
+        return names[id];
+    }
+
+    /**
+     * Returns the dense id of a vertex name.
+     * @param name the vertex name
+     * @return the id, or -1 if the vertex is unknown
+     */
+    public int getId(String name) {
+        Integer id = ids.get(name);
+        return id == null ? -1 : id;
+    }
+
+    /**
+     * Returns the source vertex ids of all edges.
+     * @return array indexed by edge id
+     */
+    public int[] getFrom() {
+        return from;
+    }
+
+    /**
+     * Returns the destination vertex ids of all edges.
+     * @return array indexed by edge id
+     */
+    public int[] getTo() {
+        return to;
+    }
+
+    /**
+     * Returns the weights of all edges.
+     * @return array indexed by edge id
+     */
+    public int[] getWeight() {
+        return weight;
+    }
+
+    @Override
+    public int getFrom(int e) {
+        return from[e];
+    }
+
+    @Override
+    public int getTo(int e) {
+        return to[e];
+    }
+
+    @Override
+    public int getWeight(int e) {
+        return weight[e];
+    }
+
+    /**
+     * Returns the CSR offsets array (length V + 1).
+     * @return offsets into the adjacency arrays
+     */
+    public int[] getOffsets() {
+        return offsets;
+    }
+
+    /**
+     * Returns the CSR neighbor array.
+     * @return neighbor vertex id per adjacency slot
+     */
+    public int[] getAdjVertex() {
+        return adjVertex;
+    }
+
+    /**
+     * Returns the CSR weight array.
+     * @return edge weight per adjacency slot
+     */
+    public int[] getAdjWeight() {
+        return adjWeight;
+    }
+
+    /**
+     * Returns the CSR edge id array.
+     * @return edge id per adjacency slot
+     */
+    public int[] getAdjEdge() {
+        return adjEdge;
+    }
+
+    /**
+     * Returns the vertex names as a read-only list view.
+     * @return list of vertex names indexed by id
+     */
+    @Override
+    public List<String> nodeList() {
+        return Collections.unmodifiableList(Arrays.asList(names));
+    }
+
+    /**
+     * Returns the edges as a read-only list view; {@link Edge} objects are created on access.
+     * @return list of edges indexed by edge id
+     */
+    @Override
+    public List<Edge> edgeList() {
+        return new AbstractList<>() {
+            @Override
+            public Edge get(int index) {
+                return toEdge(index);
+            }
+
+            @Override
+            public int size() {
+                return from.length;
+            }
+        };
+    }
+
+    /**
+     * Converts an edge id back into an {@link Edge} with vertex names.
+     * @param e the edge id
+     * @return a new Edge object
+     */
+    @Override
+    public Edge toEdge(int e) {
+        return new Edge(names[from[e]], names[to[e]], weight[e]);
+    }
+
+    /**
+     * Creates an {@link Edge} oriented from u to v.
+     * @param u source vertex id
+     * @param v destination vertex id
+     * @param w edge weight
+     * @return a new Edge object
+     */
+    public Edge toEdge(int u, int v, int w) {
+        return new Edge(names[u], names[v], w);
+    }
+}
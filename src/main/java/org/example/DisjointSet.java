@@ -0,0 +1,109 @@
+package org.example;
+
+/**
+ * Disjoint-set (union-find) structure over dense int ids [0, n).
+ *
+ * Parents are stored in an int array and ranks in a byte array, so the structure
+ * needs about 5 bytes per element and no boxing. {@link #find(int)} is iterative and
+ * uses path halving, and {@link #union(int, int)} links by rank, which keeps every
+ * tree O(log n) deep even before compression.
+ */
+public class DisjointSet {
+    /** Parent of each element; roots point to themselves */
+    private final int[] parent;
+    /** Upper bound on the height of each root's tree (never exceeds log2 n) */
+    private final byte[] rank;
+    /** Number of disjoint sets currently present */
+    private int count;
+
+    /**
+     * Creates n singleton sets.
+     * @param n number of elements
+     */
+    public DisjointSet(int n) {
+        parent = new int[n];
+        rank = new byte[n];
+        for (int i = 0; i < n; i++) parent[i] = i;
+        count = n;
+    }
+
+    /**
+     * Finds the representative of an element, halving the path on the way:
+     * every visited node is re-pointed to its grandparent.
+     *
+     * @param x the element
+     * @return the root of x's set
+     */
+    public int find(int x) {
+        while (parent[x] != x) {
+            parent[x] = parent[parent[x]];
+            x = parent[x];
+        }
+        return x;
+    }
+
+    /**
+     * Finds the representative of an element without modifying the structure.
+     * Safe to call from several threads as long as no thread is running
+     * {@link #find(int)} or {@link #union(int, int)} at the same time.
+     *
+     * @param x the element
+     * @return the root of x's set
+     */
+    public int root(int x) {
+        while (parent[x] != x) {
+            x = parent[x];
+        }
+        return x;
+    }
+
+    /**
+     * Merges the sets containing a and b, attaching the lower-rank root below the other.
+     *
+     * @param a first element
+     * @param b second element
+     * @return true if the sets were different and have been merged
+     */
+    public boolean union(int a, int b) {
+        int ra = find(a);
+        int rb = find(b);
+        if (ra == rb) return false;
+        if (rank[ra] < rank[rb]) {
+            parent[ra] = rb;
+        } else if (rank[ra] > rank[rb]) {
+            parent[rb] = ra;
+        } else {
+            parent[rb] = ra;
+            rank[ra]++;
+        }
+        count--;
+        return true;
+    }
+
+    /**
+     * Checks whether two elements belong to the same set.
+     *
+     * @param a first element
+     * @param b second element
+     * @return true if a and b are connected
+     */
+    public boolean connected(int a, int b) {
+        return find(a) == find(b);
+    }
+
+    /**
+     * Returns the number of disjoint sets.
+     * @return set count
+     */
+    public int count() {
+        return count;
+    }
+
+    /**
+     * Returns the number of elements.
+     * @return element count
+     */
+    public int size() {
+        return parent.length;
+    }
+}
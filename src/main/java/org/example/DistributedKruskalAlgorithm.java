@@ -0,0 +1,338 @@
+package org.example;
+
+import java.io.*;
+import java.lang.management.ManagementFactory;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.net.SocketTimeoutException;
+import java.nio.file.Paths;
+import java.util.*;
+
+/**
+ * Multi-process variant of Kruskal’s algorithm: a coordinator and N worker JVMs on the same machine.
+ *
+ * The coordinator starts N {@link PartitionWorker} processes with its own class path, which
+ * connect back over a loopback socket. The edge set is split into N contiguous ranges of edge
+ * ids; every worker receives one range, computes the minimum spanning forest of it and returns
+ * only the forest (at most V - 1 edges). By the cycle property an edge dropped by a worker is
+ * the heaviest edge of a cycle within its partition and therefore not in the MST of the whole
+ * graph, so the MST of the union of the partial forests is the MST of the graph. The coordinator
+ * merges the forests one at a time as they arrive: two sorted forests are merged by
+ * (weight, edge id) and scanned with a fresh union-find, which keeps O(V) edges in memory.
+ *
+ * The coordinator reads the edges only while streaming them to the workers, so with an
+ * {@link OffHeapEdgeStore} mapped from a binary graph file no whole graph is ever on its heap,
+ * and every worker only holds E / N edges. Ties are broken by edge id everywhere, so the MST
+ * edges are exactly those of {@link KruskalAlgorithm}.
+ */
+public class DistributedKruskalAlgorithm {
+
+    /** Default number of worker processes */
+    public static final int DEFAULT_WORKERS = 2;
+
+    /** First int of every message, to detect a stray connection */
+    static final int MAGIC = 0x4D535450;
+
+    /** Size of the socket stream buffers */
+    static final int BUFFER_SIZE = 1 << 16;
+
+    /** How long the coordinator waits for a worker to connect */
+    private static final int CONNECT_TIMEOUT_MS = 60_000;
+
+    /**
+     * Result of the multi-process algorithm; it has the same shape as the in-memory one.
+     */
+    public static class Result extends KruskalAlgorithm.Result {
+        /**
+         * Number of worker processes.
+         */
+        public int workers;
+
+        /**
+         * Time from launching the workers until all of them were connected, in milliseconds.
+         */
+        public double startupMs;
+
+        /**
+         * Statistics of every worker, in partition order.
+         */
+        public List<Worker> partitions = new ArrayList<>();
+    }
+
+    /**
+     * Statistics of one worker process.
+     * - edges: edges in its partition.
+     * - forestEdges: edges of the partial forest it returned.
+     * - bytesSent / bytesReceived: socket payload from and to the coordinator.
+     * - sendMs: time spent streaming the partition to the worker.
+     * - computeMs: time of the local Kruskal, measured inside the worker.
+     * - totalMs: from the first byte sent until the forest was received.
+     */
+    public static class Worker {
+        public int index;
+        public int edges;
+        public int forestEdges;
+        public long bytesSent;
+        public long bytesReceived;
+        public double sendMs;
+        public double computeMs;
+        public double totalMs;
+    }
+
+    /**
+     * Edges of a spanning forest as global edge ids, sorted by (weight, id).
+     */
+    private static final class Forest {
+        final int[] id;
+        final int[] from;
+        final int[] to;
+        final int[] weight;
+        int size;
+
+        Forest(int capacity) {
+            id = new int[capacity];
+            from = new int[capacity];
+            to = new int[capacity];
+            weight = new int[capacity];
+        }
+
+        void add(int e, int u, int v, int w) {
+            id[size] = e;
+            from[size] = u;
+            to[size] = v;
+            weight[size++] = w;
+        }
+    }
+
+    private final Result result = new Result();
+    private final Metrics metrics = new Metrics("distributed-kruskal");
+    private final EdgeSource source;
+    private final int vertexCount;
+
+    /**
+     * Runs the multi-process algorithm on the edges of a graph with {@link #DEFAULT_WORKERS} workers.
+     *
+     * @param graph The input graph data structure.
+     * @param nodes The list of all vertices in the graph.
+     * @param edges The list of all edges with their weights.
+     * @throws IOException if a worker cannot be started or fails
+     */
+    public DistributedKruskalAlgorithm(GraphData graph, List<String> nodes, List<Edge> edges) throws IOException {
+        this(EdgeSource.of(graph, nodes, edges), DEFAULT_WORKERS, List.of());
+    }
+
+    /**
+     * Runs the multi-process algorithm on an edge source, e.g. an {@link OffHeapEdgeStore}
+     * mapped from a binary graph file.
+     *
+     * @param source     The edges of the graph (assumed to be valid).
+     * @param workers    Number of worker processes.
+     * @param jvmOptions Extra options of the worker JVMs, such as a heap size.
+     * @throws IOException if a worker cannot be started or fails
+     */
+    public DistributedKruskalAlgorithm(EdgeSource source, int workers, List<String> jvmOptions) throws IOException {
+        if (workers <= 0) throw new IllegalArgumentException("workers must be positive");
+        this.source = source;
+        this.vertexCount = source.getVertexCount();
+        result.strategy = "multi-process";
+        result.workers = workers;
+        result.metrics = metrics;
+        if (source instanceof CompactGraph cg) {
+            result.validationCount = cg.getValidationCount();
+            metrics.include(cg.getBuildMetrics());
+        }
+        run(workers, jvmOptions);
+    }
+
+    public Result getResult() {
+        return result;
+    }
+
+    private void run(int workers, List<String> jvmOptions) throws IOException {
+        long start = System.nanoTime();
+        long cpuStart = CpuTime.now();
+        List<Process> processes = new ArrayList<>(workers);
+        Socket[] sockets = new Socket[workers];
+        Worker[] workerStats = new Worker[workers];
+        try (ServerSocket server = new ServerSocket(0, workers, InetAddress.getLoopbackAddress())) {
+            // Step 1: Launch the workers and wait until every one of them has connected.
+            try (var _ = metrics.phase("startup")) {
+                for (int w = 0; w < workers; w++) {
+                    processes.add(launch(server.getLocalPort(), w, jvmOptions));
+                }
+                server.setSoTimeout(CONNECT_TIMEOUT_MS);
+                for (int connected = 0; connected < workers; connected++) {
+                    Socket socket = accept(server, processes);
+                    DataInputStream hello = new DataInputStream(socket.getInputStream());
+                    int index = hello.readInt() == MAGIC ? hello.readInt() : -1;
+                    if (index < 0 || index >= workers || sockets[index] != null) {
+                        socket.close();
+                        throw new IOException("Unexpected connection on the coordinator port");
+                    }
+                    sockets[index] = socket;
+                    Worker stats = new Worker();
+                    stats.index = index;
+                    // The hello message: magic number and worker index.
+                    stats.bytesReceived = 8L;
+                    workerStats[index] = stats;
+                }
+            }
+            result.startupMs = (System.nanoTime() - start) / 1_000_000.0;
+
+            // Step 2: Stream every partition to its worker. Workers start computing as soon as their
+            // partition is complete, while the coordinator is still sending the next ones.
+            int edgeCount = source.getEdgeCount();
+            long[] sentAt = new long[workers];
+            try (var _ = metrics.phase("distribute")) {
+                for (int w = 0; w < workers; w++) {
+                    int first = (int) ((long) edgeCount * w / workers);
+                    int end = (int) ((long) edgeCount * (w + 1) / workers);
+                    sentAt[w] = System.nanoTime();
+                    send(sockets[w], workerStats[w], first, end);
+                    result.partitions.add(workerStats[w]);
+                }
+            }
+
+            // Step 3: Receive the partial forests in partition order and merge each into the result.
+            Forest merged = new Forest(0);
+            try (var _ = metrics.phase("merge")) {
+                for (int w = 0; w < workers; w++) {
+                    Worker stats = result.partitions.get(w);
+                    Forest forest = receive(sockets[w], stats);
+                    stats.totalMs = (System.nanoTime() - sentAt[w]) / 1_000_000.0;
+                    merged = merge(merged, forest);
+                }
+            }
+
+            // Step 4: Translate the merged forest back to named edges.
+            for (int i = 0; i < merged.size; i++) {
+                result.mstEdges.add(source.toEdge(merged.id[i]));
+                result.totalCost += merged.weight[i];
+            }
+        } finally {
+            // Step 5: Close the connections, stop the workers and record the execution time.
+            for (Socket socket : sockets) {
+                if (socket != null) socket.close();
+            }
+            for (Process p : processes) p.destroy();
+            result.operationsCount = metrics.operations();
+            result.executionTimeMs = (System.nanoTime() - start) / 1_000_000.0;
+            result.cpuTimeMs = CpuTime.elapsedMs(cpuStart);
+            metrics.commit(result.strategy, vertexCount, source.getEdgeCount(), result.totalCost);
+        }
+    }
+
+    /**
+     * Starts one worker JVM with the class path (and preview setting) of this one.
+     */
+    private static Process launch(int port, int index, List<String> jvmOptions) throws IOException {
+        List<String> command = new ArrayList<>();
+        command.add(Paths.get(System.getProperty("java.home"), "bin", "java").toString());
+        if (ManagementFactory.getRuntimeMXBean().getInputArguments().contains("--enable-preview")) {
+            command.add("--enable-preview");
+        }
+        command.addAll(jvmOptions);
+        command.add("-cp");
+        command.add(System.getProperty("java.class.path"));
+        command.add(PartitionWorker.class.getName());
+        command.add(Integer.toString(port));
+        command.add(Integer.toString(index));
+        return new ProcessBuilder(command)
+                .redirectOutput(ProcessBuilder.Redirect.DISCARD)
+                .redirectError(ProcessBuilder.Redirect.INHERIT)
+                .start();
+    }
+
+    /**
+     * Accepts the next worker connection, failing early if a worker has already exited.
+     */
+    private static Socket accept(ServerSocket server, List<Process> processes) throws IOException {
+        try {
+            return server.accept();
+        } catch (SocketTimeoutException e) {
+            for (Process p : processes) {
+                if (!p.isAlive()) {
+                    throw new IOException("Worker process exited with status " + p.exitValue(), e);
+                }
+            }
+            throw new IOException("Workers did not connect within " + CONNECT_TIMEOUT_MS + " ms", e);
+        }
+    }
+
+    /**
+     * Sends the edges [first, end) to a worker.
+     */
+    private void send(Socket socket, Worker stats, int first, int end) throws IOException {
+        long start = System.nanoTime();
+        stats.edges = end - first;
+        DataOutputStream out = new DataOutputStream(new BufferedOutputStream(socket.getOutputStream(), BUFFER_SIZE));
+        out.writeInt(MAGIC);
+        out.writeInt(vertexCount);
+        out.writeInt(first);
+        out.writeInt(stats.edges);
+        for (int e = first; e < end; e++) {
+            out.writeInt(source.getFrom(e));
+            out.writeInt(source.getTo(e));
+            out.writeInt(source.getWeight(e));
+        }
+        out.flush();
+        stats.bytesSent = 16L + 12L * stats.edges;
+        stats.sendMs = (System.nanoTime() - start) / 1_000_000.0;
+    }
+
+    /**
+     * Reads the partial forest of a worker.
+     */
+    private Forest receive(Socket socket, Worker stats) throws IOException {
+        DataInputStream in = new DataInputStream(new BufferedInputStream(socket.getInputStream(), BUFFER_SIZE));
+        int size;
+        try {
+            size = in.readInt();
+        } catch (EOFException e) {
+            throw new IOException("Worker " + stats.index + " closed the connection without a result", e);
+        }
+        if (size < 0 || size > Math.max(vertexCount - 1, 0) || size > stats.edges) {
+            throw new IOException("Worker " + stats.index + " sent an invalid forest size: " + size);
+        }
+        Forest forest = new Forest(size);
+        for (int i = 0; i < size; i++) {
+            forest.add(in.readInt(), in.readInt(), in.readInt(), in.readInt());
+        }
+        stats.computeMs = in.readLong() / 1_000_000.0;
+        stats.forestEdges = size;
+        // The forest size, the forest and the compute time (the hello was counted in step 1).
+        stats.bytesReceived += 4L + 16L * size + 8L;
+        return forest;
+    }
+
+    /**
+     * Merges two forests sorted by (weight, id) and keeps the minimum spanning forest of their union.
+     */
+    private Forest merge(Forest a, Forest b) {
+        Forest merged = new Forest(Math.min(a.size + b.size, Math.max(vertexCount - 1, 0)));
+        DisjointSet sets = new DisjointSet(vertexCount);
+        int i = 0;
+        int j = 0;
+        while ((i < a.size || j < b.size) && merged.size < merged.id.length) {
+            Forest next;
+            int k;
+            if (j >= b.size || (i < a.size && (a.weight[i] < b.weight[j]
+                    || (a.weight[i] == b.weight[j] && a.id[i] < b.id[j])))) {
+                next = a;
+                k = i++;
+            } else {
+                next = b;
+                k = j++;
+            }
+            metrics.scans++;
+            metrics.finds += 2;
+            // Cycle property: an edge closing a cycle is the heaviest on it and cannot be in the MST.
+            if (sets.union(next.from[k], next.to[k])) {
+                metrics.unions++;
+                merged.add(next.id[k], next.from[k], next.to[k], next.weight[k]);
+            }
+        }
+        return merged;
+    }
+}
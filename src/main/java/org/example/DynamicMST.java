@@ -0,0 +1,456 @@
+package org.example;
+
+import java.util.*;
+
+/**
+ * Minimum spanning tree (forest) that is kept up to date while edges are inserted, deleted
+ * or change their weight, instead of being recomputed by {@link PrimAlgorithm} or
+ * {@link KruskalAlgorithm}.
+ *
+ * The tree is stored in a {@link LinkCutTree} in which every tree edge is a node of its own
+ * carrying the edge key (weight, then edge id), so the heaviest edge on the tree path between
+ * two vertices is found in O(log V) amortized time. Keys are distinct, so the tree is the one
+ * minimum spanning forest under that order.
+ *
+ * Replacement edges for deleted tree edges come from two places:
+ * - The edges present at the last rebuild are held by a {@link ReplacementIndex}, which keeps
+ *   their own minimum spanning forest under deletions and finds a replacement in O(log² V)
+ *   amortized time.
+ * - Edges inserted or reweighted since then (the buffer) are not in the index. The tree is the
+ *   minimum spanning forest of the index forest plus the buffer, and the non-tree edges of
+ *   that union (at most one per buffered edge) are kept ordered by key and scanned in order
+ *   when a tree edge is cut.
+ * Once the buffer holds more than max(8, sqrt(E)) edges, the index is rebuilt from the current
+ * graph in O(E log V) and the buffer is emptied.
+ *
+ * Cost per update:
+ * - Insert / weight change: O(log V) for the cycle check, plus the rebuild amortized over the
+ *   buffer, O(sqrt(E) log V).
+ * - Delete: O(log² V) amortized in the index plus O(sqrt(E) log V) for the buffer scan.
+ * So every update is amortized O(sqrt(E) log² V) rather than the O(E log V) of a scan over all
+ * non-tree edges, and a sequence of deletions alone is amortized O(log² V) per deletion. Fully
+ * polylogarithmic insertions would need the decremental-to-fully-dynamic reduction of Holm,
+ * de Lichtenberg and Thorup on top of the index, which is not implemented here.
+ *
+ * Vertices and edges are identified by name; between two vertices there is at most one edge
+ * (parallel edges of the initial graph are reduced to the cheapest one).
+ */
+public class DynamicMST {
+    /** Smallest buffer size that triggers a rebuild of the replacement index */
+    private static final int MIN_BUFFER = 8;
+
+    /** Vertex ids by name */
+    private final Map<String, Integer> vertexIds = new HashMap<>();
+    private final List<String> vertexNames = new ArrayList<>();
+    /** Link-cut tree node of every vertex, indexed by vertex id */
+    private int[] vertexNode = new int[16];
+
+    /** Edge ids by packed (smaller vertex id, larger vertex id) pair */
+    private final Map<Long, Integer> edgeIds = new HashMap<>();
+    private int[] from = new int[16];
+    private int[] to = new int[16];
+    private int[] weight = new int[16];
+    /** Link-cut tree node of every tree edge, or -1 for a non-tree (or deleted) edge */
+    private int[] edgeNode = new int[16];
+    private int edgeCapacityUsed;
+    /** Recycled edge ids */
+    private final Deque<Integer> freeEdges = new ArrayDeque<>();
+
+    /** Non-tree edges of the index forest plus the buffer, ordered by packed (weight, edge id) */
+    private final TreeSet<Long> nonTree = new TreeSet<>();
+    /** Edges present at the last rebuild */
+    private ReplacementIndex index;
+    /** Number of edges in the graph that are not in the index */
+    private int buffered;
+    /** Ids of the tree edges; treePosition[e] is the index of e in it */
+    private int[] treeEdges = new int[16];
+    private int[] treePosition = new int[16];
+    private int treeSize;
+
+    private final LinkCutTree forest = new LinkCutTree(64);
+    /** Edge represented by each link-cut tree node (-1 for vertex nodes), indexed by node id */
+    private int[] nodeEdge = new int[64];
+    private long totalCost;
+    private long operationsCount;
+
+    /**
+     * Creates the dynamic tree for a graph from a previously computed MST of it.
+     * The given tree edges are linked first; every other edge of the graph is then inserted
+     * with the cycle check, which completes or repairs the tree if needed.
+     *
+     * @param graph    the graph
+     * @param mstEdges the MST edges of the graph (e.g. from a Prim or Kruskal result)
+     * @throws IllegalArgumentException if a tree edge is not in the graph or the tree edges form a cycle
+     */
+    public DynamicMST(GraphData graph, List<Edge> mstEdges) {
+        CompactGraph cg = graph.toCompact();
+        for (int v = 0; v < cg.getVertexCount(); v++) {
+            vertexId(cg.getName(v));
+        }
+
+        // Step 1: Register every edge of the graph, keeping the cheapest of parallel edges.
+        for (int e = 0; e < cg.getEdgeCount(); e++) {
+            int u = cg.getFrom(e);
+            int v = cg.getTo(e);
+            if (u == v) continue;
+            Integer existing = edgeIds.get(pairKey(u, v));
+            if (existing == null) {
+                newEdge(u, v, cg.getWeight(e));
+            } else if (cg.getWeight(e) < weight[existing]) {
+                weight[existing] = cg.getWeight(e);
+            }
+        }
+
+        // Step 2: Link the given tree edges.
+        for (Edge edge : mstEdges) {
+            Integer e = edgeIds.get(pairKey(vertexId(edge.getFrom()), vertexId(edge.getTo())));
+            if (e == null) {
+                throw new IllegalArgumentException("MST edge " + edge + " is not an edge of the graph");
+            }
+            if (forest.connected(vertexNode[from[e]], vertexNode[to[e]])) {
+                throw new IllegalArgumentException("MST edges contain a cycle at " + edge);
+            }
+            linkTree(e);
+        }
+
+        // Step 3: All remaining edges go through the cycle check; for a true MST none of them swaps in.
+        for (int e = 0; e < edgeCapacityUsed; e++) {
+            if (edgeNode[e] == -1) place(e);
+        }
+
+        // Step 4: Hand every edge to the replacement index.
+        rebuild();
+    }
+
+    /**
+     * Creates the dynamic tree from a Kruskal result.
+     * @param graph  the graph
+     * @param result its Kruskal result
+     */
+    public DynamicMST(GraphData graph, KruskalAlgorithm.Result result) {
+        this(graph, result.mstEdges);
+    }
+
+    /**
+     * Creates the dynamic tree from a Prim result.
+     * @param graph  the graph
+     * @param result its Prim result
+     */
+    public DynamicMST(GraphData graph, PrimAlgorithm.Result result) {
+        this(graph, result.mstEdges);
+    }
+
+    /**
+     * Inserts an edge; unknown vertices are added. Self-loops are ignored.
+     *
+     * @param fromName first endpoint
+     * @param toName   second endpoint
+     * @param w        weight
+     * @throws IllegalArgumentException if an edge between the vertices already exists
+     */
+    public void insertEdge(String fromName, String toName, int w) {
+        int u = vertexId(fromName);
+        int v = vertexId(toName);
+        if (u == v) return;
+        if (edgeIds.containsKey(pairKey(u, v))) {
+            throw new IllegalArgumentException("Edge " + fromName + " - " + toName + " already exists");
+        }
+        place(newEdge(u, v, w));
+        addBuffered();
+    }
+
+    /**
+     * Deletes an edge.
+     *
+     * @param fromName first endpoint
+     * @param toName   second endpoint
+     * @return false if there is no such edge
+     */
+    public boolean deleteEdge(String fromName, String toName) {
+        int e = edgeId(fromName, toName);
+        if (e < 0) return false;
+        if (index.contains(e)) {
+            removeIndexed(e);
+        } else {
+            removeFromTree(e);
+            buffered--;
+        }
+        edgeIds.remove(pairKey(from[e], to[e]));
+        freeEdges.push(e);
+        return true;
+    }
+
+    /**
+     * Changes the weight of an edge.
+     *
+     * @param fromName first endpoint
+     * @param toName   second endpoint
+     * @param w        the new weight
+     * @return false if there is no such edge
+     */
+    public boolean updateWeight(String fromName, String toName, int w) {
+        int e = edgeId(fromName, toName);
+        if (e < 0) return false;
+        int old = weight[e];
+        if (index.contains(e)) {
+            // The index needs fixed keys: the edge leaves it and comes back as a buffered edge.
+            removeIndexed(e);
+            weight[e] = w;
+            place(e);
+            addBuffered();
+        } else if (edgeNode[e] != -1) {
+            // Tree edge: a decrease keeps the tree minimal; an increase may let a non-tree edge in.
+            totalCost += (long) w - old;
+            weight[e] = w;
+            forest.setValue(edgeNode[e], key(e));
+            if (w > old) {
+                // The edge competes with the other non-tree edges for the cut it leaves behind.
+                cutTree(e);
+                nonTree.add(key(e));
+                reconnect(from[e], to[e]);
+            }
+        } else {
+            // Non-tree edge: an increase changes nothing; a decrease may let it into the tree.
+            nonTree.remove(key(e));
+            weight[e] = w;
+            if (w < old) {
+                place(e);
+            } else {
+                nonTree.add(key(e));
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Returns the current total weight of the tree.
+     * @return total cost
+     */
+    public long getTotalCost() {
+        return totalCost;
+    }
+
+    /**
+     * Returns the current tree edges (a spanning forest if the graph is disconnected).
+     * @return new list of edges
+     */
+    public List<Edge> getMstEdges() {
+        List<Edge> edges = new ArrayList<>(treeSize);
+        for (int i = 0; i < treeSize; i++) {
+            int e = treeEdges[i];
+            edges.add(new Edge(vertexNames.get(from[e]), vertexNames.get(to[e]), weight[e]));
+        }
+        return edges;
+    }
+
+    /**
+     * Returns the number of vertices.
+     * @return vertex count
+     */
+    public int getVertexCount() {
+        return vertexNames.size();
+    }
+
+    /**
+     * Returns the number of edges currently in the graph.
+     * @return edge count
+     */
+    public int getEdgeCount() {
+        return edgeIds.size();
+    }
+
+    /**
+     * Returns the number of link-cut tree and Euler-tour forest operations and replacement
+     * candidates examined so far.
+     * @return operation count
+     */
+    public long getOperationsCount() {
+        return operationsCount + index.getOperationsCount();
+    }
+
+    /**
+     * Puts an edge that is not in the tree either into the tree (if it connects two trees or is
+     * lighter than the heaviest edge on the tree path between its endpoints) or into the
+     * non-tree index.
+     */
+    private void place(int e) {
+        int u = vertexNode[from[e]];
+        int v = vertexNode[to[e]];
+        operationsCount++;
+        if (!forest.connected(u, v)) {
+            linkTree(e);
+            return;
+        }
+        operationsCount++;
+        int heaviest = forest.pathMax(u, v);
+        int heavyEdge = edgeOfNode(heaviest);
+        if (heavyEdge >= 0 && key(e) < key(heavyEdge)) {
+            // Cycle property: the heaviest edge on the cycle leaves the tree.
+            cutTree(heavyEdge);
+            nonTree.add(key(heavyEdge));
+            linkTree(e);
+        } else {
+            nonTree.add(key(e));
+        }
+    }
+
+    /**
+     * Removes an edge of the index from the graph. If it was a forest edge of the index, the
+     * index's replacement edge joins the union the tree is built from.
+     */
+    private void removeIndexed(int e) {
+        boolean wasIndexTree = index.isTreeEdge(e);
+        int replacement = index.delete(e);
+        if (wasIndexTree) {
+            removeFromTree(e);
+            if (replacement >= 0) place(replacement);
+        }
+    }
+
+    /** Removes an edge of the union (index forest plus buffer) the tree is built from. */
+    private void removeFromTree(int e) {
+        if (edgeNode[e] == -1) {
+            nonTree.remove(key(e));
+        } else {
+            cutTree(e);
+            reconnect(from[e], to[e]);
+        }
+    }
+
+    /** Counts a new buffered edge and rebuilds the index once the buffer is full. */
+    private void addBuffered() {
+        buffered++;
+        if (buffered > Math.max(MIN_BUFFER, (int) Math.sqrt(edgeIds.size()))) rebuild();
+    }
+
+    /**
+     * Rebuilds the replacement index from the current graph: the tree becomes its forest and
+     * every other edge a non-tree edge of it, which empties the buffer.
+     */
+    private void rebuild() {
+        if (index != null) operationsCount += index.getOperationsCount();
+        index = new ReplacementIndex(vertexNames.size(), edgeCapacityUsed);
+        for (int i = 0; i < treeSize; i++) {
+            int e = treeEdges[i];
+            index.addTreeEdge(e, from[e], to[e], key(e));
+        }
+        for (int e : edgeIds.values()) {
+            if (edgeNode[e] == -1) index.addNonTreeEdge(e, from[e], to[e], key(e));
+        }
+        operationsCount += edgeIds.size();
+        nonTree.clear();
+        buffered = 0;
+    }
+
+    /**
+     * After cutting the tree between u and v, links the lightest non-tree edge that connects
+     * the two parts again, if there is one.
+     */
+    private void reconnect(int u, int v) {
+        int nu = vertexNode[u];
+        int nv = vertexNode[v];
+        if (forest.connected(nu, nv)) return;
+        // Non-tree edges never join two different trees, so after the cut the first non-tree edge
+        // (in weight order) whose endpoints are disconnected crosses exactly this cut.
+        // Only non-tree edges of the index forest plus the buffer are here, at most one per
+        // buffered edge, so this scan is O(sqrt(E) log V).
+        for (Iterator<Long> it = nonTree.iterator(); it.hasNext(); ) {
+            int e = LongMinHeap.idOf(it.next());
+            operationsCount++;
+            if (!forest.connected(vertexNode[from[e]], vertexNode[to[e]])) {
+                it.remove();
+                linkTree(e);
+                return;
+            }
+        }
+    }
+
+    private void linkTree(int e) {
+        int x = forest.addNode(key(e));
+        nodeEdge(x, e);
+        edgeNode[e] = x;
+        forest.link(vertexNode[from[e]], x);
+        forest.link(x, vertexNode[to[e]]);
+        operationsCount += 2;
+        treePosition[e] = treeSize;
+        treeEdges[treeSize++] = e;
+        totalCost += weight[e];
+    }
+
+    private void cutTree(int e) {
+        int x = edgeNode[e];
+        forest.cut(vertexNode[from[e]], x);
+        forest.cut(x, vertexNode[to[e]]);
+        forest.removeNode(x);
+        nodeEdge(x, -1);
+        edgeNode[e] = -1;
+        operationsCount += 2;
+        // Swap-remove from the tree edge list.
+        int last = treeEdges[--treeSize];
+        treeEdges[treePosition[e]] = last;
+        treePosition[last] = treePosition[e];
+        totalCost -= weight[e];
+    }
+
+    private void nodeEdge(int node, int e) {
+        if (node >= nodeEdge.length) nodeEdge = Arrays.copyOf(nodeEdge, Math.max(node + 1, nodeEdge.length * 2));
+        nodeEdge[node] = e;
+    }
+
+    private int edgeOfNode(int node) {
+        return node < nodeEdge.length ? nodeEdge[node] : -1;
+    }
+
+    private int vertexId(String name) {
+        Integer id = vertexIds.get(name);
+        if (id != null) return id;
+        int v = vertexNames.size();
+        vertexIds.put(name, v);
+        vertexNames.add(name);
+        if (v == vertexNode.length) vertexNode = Arrays.copyOf(vertexNode, v * 2);
+        // Vertex nodes carry the smallest value, so a path maximum is always an edge node.
+        vertexNode[v] = forest.addNode(Long.MIN_VALUE);
+        nodeEdge(vertexNode[v], -1);
+        return v;
+    }
+
+    private int edgeId(String fromName, String toName) {
+        Integer u = vertexIds.get(fromName);
+        Integer v = vertexIds.get(toName);
+        if (u == null || v == null) return -1;
+        Integer e = edgeIds.get(pairKey(u, v));
+        return e == null ? -1 : e;
+    }
+
+    private int newEdge(int u, int v, int w) {
+        int e;
+        if (!freeEdges.isEmpty()) {
+            e = freeEdges.pop();
+        } else {
+            e = edgeCapacityUsed++;
+            if (e == from.length) {
+                int n = e * 2;
+                from = Arrays.copyOf(from, n);
+                to = Arrays.copyOf(to, n);
+                weight = Arrays.copyOf(weight, n);
+                edgeNode = Arrays.copyOf(edgeNode, n);
+                treeEdges = Arrays.copyOf(treeEdges, n);
+                treePosition = Arrays.copyOf(treePosition, n);
+            }
+        }
+        from[e] = u;
+        to[e] = v;
+        weight[e] = w;
+        edgeNode[e] = -1;
+        edgeIds.put(pairKey(u, v), e);
+        return e;
+    }
+
+    private long key(int e) {
+        return LongMinHeap.pack(weight[e], e);
+    }
+
+    private static long pairKey(int u, int v) {
+        return GraphIndex.edgeKey(u, v);
+    }
+}
@@ -0,0 +1,97 @@
+package org.example;
+
+/**
+ * Primitive sorting helpers for edge ids.
+ *
+ * Edges are never reordered themselves: the helpers sort an array of edge ids by the
+ * weights they refer to, using a stable LSD radix sort on the int weights
+ * (4 passes of 8 bits, skipping passes in which all keys share the same byte).
+ * Stability means equal weights keep their input order, just like List.sort.
+ */
+public final class EdgeSort {
+
+    private EdgeSort() {
+    }
+
+    /**
+     * Returns the edge ids [0, weight.length) ordered by non-decreasing weight.
+     *
+     * @param weight weight of every edge
+     * @return the sorted permutation of edge ids
+     */
+    public static int[] radixOrder(int[] weight) {
+        int[] ids = new int[weight.length];
+        for (int i = 0; i < ids.length; i++) ids[i] = i;
+        radixSort(ids, 0, ids.length, weight);
+        return ids;
+    }
+
+    /**
+     * Returns the edge ids of a source ordered by non-decreasing weight.
+     * The weights are read once through the {@link EdgeSource} interface.
+     *
+     * @param source the edges
+     * @return the sorted permutation of edge ids
+     */
+    public static int[] radixOrder(EdgeSource source) {
+        if (source instanceof CompactGraph cg) return radixOrder(cg.getWeight());
+        int n = source.getEdgeCount();
+        int[] ids = new int[n];
+        int[] keys = new int[n];
+        for (int i = 0; i < n; i++) {
+            ids[i] = i;
+            keys[i] = source.getWeight(i) ^ Integer.MIN_VALUE;
+        }
+        sortByKeys(ids, 0, n, keys);
+        return ids;
+    }
+
+    /**
+     * Sorts ids[from, to) by non-decreasing weight[id], stably.
+     *
+     * @param ids    edge ids to sort in place
+     * @param from   first index (inclusive)
+     * @param to     last index (exclusive)
+     * @param weight weight of every edge
+     */
+    public static void radixSort(int[] ids, int from, int to, int[] weight) {
+        int n = to - from;
+        if (n < 2) return;
+        // Flip the sign bit so that signed weights sort correctly as unsigned keys.
+        int[] keys = new int[n];
+        for (int i = 0; i < n; i++) keys[i] = weight[ids[from + i]] ^ Integer.MIN_VALUE;
+        sortByKeys(ids, from, n, keys);
+    }
+
+    /**
+     * LSD radix sort of ids[from, from + n) by unsigned keys[0, n) (the keys are consumed).
+     */
+    private static void sortByKeys(int[] ids, int from, int n, int[] keys) {
+        if (n < 2) return;
+        int[] srcKeys = keys;
+        int[] srcIds = new int[n];
+        System.arraycopy(ids, from, srcIds, 0, n);
+        int[] dstKeys = new int[n];
+        int[] dstIds = new int[n];
+        int[] count = new int[257];
+
+        for (int shift = 0; shift < 32; shift += 8) {
+            // Histogram of the current byte.
+            java.util.Arrays.fill(count, 0);
+            for (int i = 0; i < n; i++) count[((srcKeys[i] >>> shift) & 0xFF) + 1]++;
+            // Skip the pass if every key has the same byte here.
+            if (count[((srcKeys[0] >>> shift) & 0xFF) + 1] == n) continue;
+            for (int b = 0; b < 256; b++) count[b + 1] += count[b];
+            // Scatter in input order, which keeps the sort stable.
+            for (int i = 0; i < n; i++) {
+                int b = (srcKeys[i] >>> shift) & 0xFF;
+                int p = count[b]++;
+                dstKeys[p] = srcKeys[i];
+                dstIds[p] = srcIds[i];
+            }
+            int[] t = srcKeys; srcKeys = dstKeys; dstKeys = t;
+            t = srcIds; srcIds = dstIds; dstIds = t;
+        }
+        System.arraycopy(srcIds, 0, ids, from, n);
+    }
+}
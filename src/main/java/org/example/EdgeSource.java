@@ -0,0 +1,118 @@
+package org.example;
+
+import java.util.AbstractList;
+import java.util.List;
+
+/**
+ * Read access to an interned edge list: vertices are dense ids [0, V) and edges are
+ * dense ids [0, E) with int endpoints and weights.
+ *
+ * Implemented by the on-heap {@link CompactGraph} (built from a {@code List<Edge>}) and by
+ * the off-heap {@link OffHeapEdgeStore}, so the MST algorithms do not depend on where the
+ * edges live.
+ */
+public interface EdgeSource {
+
+    /**
+     * Returns the number of vertices.
+     * @return vertex count
+     */
+    int getVertexCount();
+
+    /**
+     * Returns the number of edges.
+     * @return edge count
+     */
+    int getEdgeCount();
+
+    /**
+     * Returns the source vertex id of an edge.
+     * @param e the edge id
+     * @return the vertex id
+     */
+    int getFrom(int e);
+
+    /**
+     * Returns the destination vertex id of an edge.
+     * @param e the edge id
+     * @return the vertex id
+     */
+    int getTo(int e);
+
+    /**
+     * Returns the weight of an edge.
+     * @param e the edge id
+     * @return the weight
+     */
+    int getWeight(int e);
+
+    /**
+     * Returns the name of a vertex.
+     * @param v the vertex id
+     * @return the vertex name
+     */
+    String getName(int v);
+
+    /**
+     * Converts an edge id into an {@link Edge} with vertex names.
+     * @param e the edge id
+     * @return a new Edge object
+     */
+    default Edge toEdge(int e) {
+        return new Edge(getName(getFrom(e)), getName(getTo(e)), getWeight(e));
+    }
+
+    /**
+     * Returns the vertex names as a read-only list view.
+     * @return list of names indexed by vertex id
+     */
+    default List<String> nodeList() {
+        return new AbstractList<>() {
+            @Override
+            public String get(int index) {
+                return getName(index);
+            }
+
+            @Override
+            public int size() {
+                return getVertexCount();
+            }
+        };
+    }
+
+    /**
+     * Returns the edges as a read-only list view; {@link Edge} objects are created on access.
+     * @return list of edges indexed by edge id
+     */
+    default List<Edge> edgeList() {
+        return new AbstractList<>() {
+            @Override
+            public Edge get(int index) {
+                return toEdge(index);
+            }
+
+            @Override
+            public int size() {
+                return getEdgeCount();
+            }
+        };
+    }
+
+    /**
+     * Returns the edges the algorithms should read for the given node and edge lists.
+     * When the lists are the graph's own lists, this is {@link GraphData#getEdgeSource()}: the
+     * mapped edges of a graph loaded from a binary file, or the graph's cached compact form.
+     * Other lists are converted into a new {@link CompactGraph}.
+     *
+     * @param graph The graph the lists belong to (used for validation).
+     * @param nodes List of vertices.
+     * @param edges List of edges with weights.
+     * @return the edge source
+     */
+    static EdgeSource of(GraphData graph, List<String> nodes, List<Edge> edges) {
+        if (nodes == graph.getNodes() && edges == graph.getEdges()) {
+            return graph.getEdgeSource();
+        }
+        return new CompactGraph(graph, nodes, edges);
+    }
+}
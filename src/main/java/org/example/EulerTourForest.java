@@ -0,0 +1,362 @@
+package org.example;
+
+import java.util.Arrays;
+
+/**
+ * Euler-tour forest: a spanning forest over the vertex ids [0, n) whose trees are stored as
+ * Euler tours in splay trees, so link, cut, connectivity and tree-size queries take
+ * O(log n) amortized time.
+ *
+ * Every vertex has one node in the tour of its tree, and every tree edge has two arc nodes
+ * (one per direction). Tree edges are named by a caller-chosen slot in [0, n). On top of the
+ * tour, every node carries two aggregates that {@link ReplacementIndex} needs to search a
+ * whole tree in O(log n):
+ * - marked arcs: one arc of some tree edges can be marked; {@link #findMarked(int)} returns
+ *   the slot of any marked edge in a tree.
+ * - vertex keys: every vertex can carry a long key; {@link #findMin(int)} returns the vertex
+ *   with the smallest key in a tree.
+ *
+ * Like {@link LinkCutTree}, the splay trees are kept in primitive arrays (-1 means "none").
+ * Vertex nodes are only created for vertices that are linked or given a key.
+ */
+public class EulerTourForest {
+    /** Key of a vertex that has none */
+    public static final long NO_KEY = Long.MAX_VALUE;
+
+    private int[] left;
+    private int[] right;
+    private int[] parent;
+    /** Vertex nodes in the splay subtree */
+    private int[] vertices;
+    /** Marked arcs in the splay subtree */
+    private int[] marks;
+    private boolean[] marked;
+    /** Own key of a vertex node (NO_KEY for arcs) */
+    private long[] key;
+    /** Smallest key in the splay subtree */
+    private long[] min;
+    /** Vertex id of a vertex node, or the edge slot of an arc */
+    private int[] item;
+    private boolean[] isVertex;
+    private int size;
+    /** Recycled node ids */
+    private int[] free = new int[16];
+    private int freeCount;
+
+    /** Node of every vertex, or -1 while the vertex is isolated and has no key */
+    private final int[] vertexNode;
+    /** First arc of every edge slot (its twin is the next arc of the pair), or -1 */
+    private final int[] slotArc;
+    /** Opposite arc of every arc node */
+    private int[] twin;
+
+    /**
+     * Creates a forest of isolated vertices.
+     * @param vertexCount number of vertices (and of edge slots)
+     */
+    public EulerTourForest(int vertexCount) {
+        vertexNode = new int[vertexCount];
+        slotArc = new int[vertexCount];
+        Arrays.fill(vertexNode, -1);
+        Arrays.fill(slotArc, -1);
+        int n = 16;
+        left = new int[n];
+        right = new int[n];
+        parent = new int[n];
+        vertices = new int[n];
+        marks = new int[n];
+        marked = new boolean[n];
+        key = new long[n];
+        min = new long[n];
+        item = new int[n];
+        isVertex = new boolean[n];
+        twin = new int[n];
+    }
+
+    /**
+     * Joins the trees of u and v by the edge in the given slot (u and v must not be connected).
+     * @param u    a vertex
+     * @param v    a vertex of another tree
+     * @param slot free edge slot that names the new edge
+     */
+    public void link(int u, int v, int slot) {
+        int a = addNode(slot, false);
+        int b = addNode(slot, false);
+        twin[a] = b;
+        twin[b] = a;
+        slotArc[slot] = a;
+        // Tour of u starting at u, arc u -> v, tour of v starting at v, arc v -> u.
+        int tu = reroot(node(u));
+        int tv = reroot(node(v));
+        join(join(join(tu, a), tv), b);
+    }
+
+    /**
+     * Removes the edge in the given slot; its tree falls apart into two trees.
+     * @param slot the slot of a linked edge
+     */
+    public void cut(int slot) {
+        int a = slotArc[slot];
+        int b = twin[a];
+        // Rotate the tour to start at a: a, (one side), b, (other side).
+        reroot(a);
+        splitBefore(b);
+        splay(a);
+        detachRight(a);
+        detachRight(b);
+        release(a);
+        release(b);
+        slotArc[slot] = -1;
+    }
+
+    /**
+     * Returns true if u and v are in the same tree.
+     * @param u a vertex
+     * @param v a vertex
+     * @return whether they are connected
+     */
+    public boolean connected(int u, int v) {
+        if (u == v) return true;
+        int nu = vertexNode[u];
+        int nv = vertexNode[v];
+        if (nu == -1 || nv == -1) return false;
+        splay(nu);
+        // nu is now the splay root of its tour; walk up from nv and splay it to pay for the walk.
+        int top = nv;
+        while (parent[top] != -1) top = parent[top];
+        splay(nv);
+        return top == nu;
+    }
+
+    /**
+     * Returns the number of vertices in the tree of v.
+     * @param v a vertex
+     * @return tree size
+     */
+    public int treeSize(int v) {
+        int x = vertexNode[v];
+        if (x == -1) return 1;
+        splay(x);
+        return vertices[x];
+    }
+
+    /**
+     * Marks or unmarks the edge in a slot.
+     * @param slot   the slot of a linked edge
+     * @param isMarked whether it is marked
+     */
+    public void setMarked(int slot, boolean isMarked) {
+        int a = slotArc[slot];
+        splay(a);
+        marked[a] = isMarked;
+        update(a);
+    }
+
+    /**
+     * Returns the slot of a marked edge in the tree of v.
+     * @param v a vertex
+     * @return the slot, or -1 if the tree has no marked edge
+     */
+    public int findMarked(int v) {
+        int x = vertexNode[v];
+        if (x == -1) return -1;
+        splay(x);
+        if (marks[x] == 0) return -1;
+        while (true) {
+            if (left[x] != -1 && marks[left[x]] > 0) {
+                x = left[x];
+            } else if (marked[x]) {
+                break;
+            } else {
+                x = right[x];
+            }
+        }
+        splay(x);
+        return item[x];
+    }
+
+    /**
+     * Sets the key of a vertex.
+     * @param v        the vertex
+     * @param newKey   its key, or {@link #NO_KEY}
+     */
+    public void setKey(int v, long newKey) {
+        int x = vertexNode[v];
+        if (x == -1) {
+            if (newKey == NO_KEY) return;
+            x = node(v);
+        }
+        splay(x);
+        key[x] = newKey;
+        update(x);
+    }
+
+    /**
+     * Returns the vertex with the smallest key in the tree of v.
+     * @param v a vertex
+     * @return the vertex, or -1 if no vertex of the tree has a key
+     */
+    public int findMin(int v) {
+        int x = vertexNode[v];
+        if (x == -1) return -1;
+        splay(x);
+        long best = min[x];
+        if (best == NO_KEY) return -1;
+        while (true) {
+            if (left[x] != -1 && min[left[x]] == best) {
+                x = left[x];
+            } else if (isVertex[x] && key[x] == best) {
+                break;
+            } else {
+                x = right[x];
+            }
+        }
+        splay(x);
+        return item[x];
+    }
+
+    /** Returns the node of vertex v, creating it on first use. */
+    private int node(int v) {
+        int x = vertexNode[v];
+        if (x == -1) {
+            x = addNode(v, true);
+            vertexNode[v] = x;
+        }
+        return x;
+    }
+
+    private int addNode(int id, boolean vertex) {
+        int x;
+        if (freeCount > 0) {
+            x = free[--freeCount];
+        } else {
+            if (size == left.length) grow();
+            x = size++;
+        }
+        left[x] = right[x] = parent[x] = -1;
+        isVertex[x] = vertex;
+        item[x] = id;
+        marked[x] = false;
+        key[x] = NO_KEY;
+        update(x);
+        return x;
+    }
+
+    private void release(int x) {
+        if (freeCount == free.length) free = Arrays.copyOf(free, freeCount * 2);
+        free[freeCount++] = x;
+    }
+
+    /** Rotates the tour that contains x so that it starts at x; returns the new splay root. */
+    private int reroot(int x) {
+        int head = splitBefore(x);
+        return join(x, head);
+    }
+
+    /**
+     * Splits the tour of x before x. Afterwards x is the root of the part starting at x.
+     * @return the root of the part before x, or -1 if x was first
+     */
+    private int splitBefore(int x) {
+        splay(x);
+        int l = left[x];
+        if (l != -1) {
+            parent[l] = -1;
+            left[x] = -1;
+            update(x);
+        }
+        return l;
+    }
+
+    /** Cuts off everything after the root x (which must be first in its tour). */
+    private void detachRight(int x) {
+        int r = right[x];
+        if (r != -1) {
+            parent[r] = -1;
+            right[x] = -1;
+            update(x);
+        }
+    }
+
+    /** Concatenates two tours given by their splay roots (either may be -1); returns the new root. */
+    private int join(int a, int b) {
+        if (a == -1) return b;
+        if (b == -1) return a;
+        int last = a;
+        while (right[last] != -1) last = right[last];
+        splay(last);
+        right[last] = b;
+        parent[b] = last;
+        update(last);
+        return last;
+    }
+
+    private void splay(int x) {
+        while (parent[x] != -1) {
+            int p = parent[x];
+            int g = parent[p];
+            if (g != -1) {
+                rotate((left[g] == p) == (left[p] == x) ? p : x);
+            }
+            rotate(x);
+        }
+    }
+
+    private void rotate(int x) {
+        int p = parent[x];
+        int g = parent[p];
+        if (left[p] == x) {
+            left[p] = right[x];
+            if (right[x] != -1) parent[right[x]] = p;
+            right[x] = p;
+        } else {
+            right[p] = left[x];
+            if (left[x] != -1) parent[left[x]] = p;
+            left[x] = p;
+        }
+        parent[p] = x;
+        parent[x] = g;
+        if (g != -1) {
+            if (left[g] == p) left[g] = x;
+            else right[g] = x;
+        }
+        update(p);
+        update(x);
+    }
+
+    private void update(int x) {
+        int l = left[x];
+        int r = right[x];
+        int v = isVertex[x] ? 1 : 0;
+        int m = marked[x] ? 1 : 0;
+        long k = key[x];
+        if (l != -1) {
+            v += vertices[l];
+            m += marks[l];
+            k = Math.min(k, min[l]);
+        }
+        if (r != -1) {
+            v += vertices[r];
+            m += marks[r];
+            k = Math.min(k, min[r]);
+        }
+        vertices[x] = v;
+        marks[x] = m;
+        min[x] = k;
+    }
+
+    private void grow() {
+        int n = left.length * 2;
+        left = Arrays.copyOf(left, n);
+        right = Arrays.copyOf(right, n);
+        parent = Arrays.copyOf(parent, n);
+        vertices = Arrays.copyOf(vertices, n);
+        marks = Arrays.copyOf(marks, n);
+        marked = Arrays.copyOf(marked, n);
+        key = Arrays.copyOf(key, n);
+        min = Arrays.copyOf(min, n);
+        item = Arrays.copyOf(item, n);
+        isVertex = Arrays.copyOf(isVertex, n);
+        twin = Arrays.copyOf(twin, n);
+    }
+}
@@ -0,0 +1,302 @@
+package org.example;
+
+import java.io.*;
+import java.nio.file.*;
+import java.util.*;
+
+/**
+ * External-memory (out-of-core) variant of Kruskal’s algorithm for edge lists that do not fit in RAM.
+ *
+ * Edges are read in chunks of a fixed size; every chunk is radix sorted and spilled to a temporary
+ * file as a sorted binary run of (weight, from, to) records. A k-way merge over the runs then feeds
+ * the edges to the union-find in weight order and stops as soon as V - 1 edges are accepted.
+ * Apart from one chunk and one read buffer per run, memory use is O(V): the vertex names, the
+ * disjoint set and the MST itself. If all edges fit into the first chunk nothing is spilled.
+ *
+ * Runs are merged by (weight, run index) and every run is sorted stably, so ties keep the input
+ * order and the MST edges are exactly those of {@link KruskalAlgorithm}.
+ */
+public class ExternalKruskalAlgorithm {
+
+    /** Default number of edges per sorted run (12 MB of edge data) */
+    public static final int DEFAULT_CHUNK_SIZE = 1 << 20;
+
+    /** Size of the read/write buffer of every run file */
+    private static final int BUFFER_SIZE = 1 << 16;
+
+    /** Bytes per spilled edge record: weight, from, to */
+    private static final int RECORD_BYTES = 12;
+
+    /**
+     * Result of the external-memory algorithm; it has the same shape as the in-memory one.
+     */
+    public static class Result extends KruskalAlgorithm.Result {
+        /**
+         * Number of edges per sorted run.
+         */
+        public int chunkSize;
+
+        /**
+         * Number of sorted runs spilled to disk (0 if all edges fit into one chunk).
+         */
+        public int runs;
+
+        /**
+         * Total number of bytes written to the run files.
+         */
+        public long spilledBytes;
+    }
+
+    /**
+     * Reads the next edges into the given arrays.
+     * Fewer edges than the array length are only returned at the end of the input.
+     */
+    private interface ChunkReader {
+        int read(int[] from, int[] to, int[] weight) throws IOException;
+    }
+
+    private final Result result = new Result();
+    private final Metrics metrics = new Metrics("external-kruskal");
+    private final String[] names;
+    private final DisjointSet sets;
+    private final int needed;
+
+    /**
+     * Runs the external-memory algorithm on the edges of a graph with the default chunk size
+     * and the system temporary directory.
+     *
+     * @param graph The input graph data structure.
+     * @param nodes The list of all vertices in the graph.
+     * @param edges The list of all edges with their weights.
+     * @throws IOException if a run file cannot be written or read
+     */
+    public ExternalKruskalAlgorithm(GraphData graph, List<String> nodes, List<Edge> edges) throws IOException {
+        this(EdgeSource.of(graph, nodes, edges), DEFAULT_CHUNK_SIZE, null);
+    }
+
+    /**
+     * Runs the external-memory algorithm on an edge source, e.g. an {@link OffHeapEdgeStore}
+     * mapped from a binary graph file.
+     *
+     * @param source    The edges of the graph (assumed to be valid).
+     * @param chunkSize Number of edges per sorted run.
+     * @param tempDir   Directory for the run files, or null for the system temporary directory.
+     * @throws IOException if a run file cannot be written or read
+     */
+    public ExternalKruskalAlgorithm(EdgeSource source, int chunkSize, Path tempDir) throws IOException {
+        this(namesOf(source), chunkSize);
+        if (source instanceof CompactGraph cg) {
+            result.validationCount = cg.getValidationCount();
+            metrics.include(cg.getBuildMetrics());
+        }
+        int edgeCount = source.getEdgeCount();
+        int[] next = {0};
+        run((from, to, weight) -> {
+            int n = 0;
+            for (; n < from.length && next[0] < edgeCount; n++, next[0]++) {
+                from[n] = source.getFrom(next[0]);
+                to[n] = source.getTo(next[0]);
+                weight[n] = source.getWeight(next[0]);
+            }
+            return n;
+        }, chunkSize, edgeCount + 1L, tempDir);
+    }
+
+    /**
+     * Runs the external-memory algorithm on a stream of edges, which is consumed exactly once
+     * and never held in memory as a whole. Edges that reference unknown vertices are dropped.
+     *
+     * @param nodes     The list of all vertices in the graph.
+     * @param edges     The edges with their weights.
+     * @param chunkSize Number of edges per sorted run.
+     * @param tempDir   Directory for the run files, or null for the system temporary directory.
+     * @throws IOException if a run file cannot be written or read
+     */
+    public ExternalKruskalAlgorithm(List<String> nodes, Iterator<Edge> edges, int chunkSize, Path tempDir)
+            throws IOException {
+        this(new LinkedHashSet<>(nodes).toArray(new String[0]), chunkSize);
+        Map<String, Integer> ids = new HashMap<>(Math.max(16, names.length * 2));
+        for (int v = 0; v < names.length; v++) ids.put(names[v], v);
+        run((from, to, weight) -> {
+            int n = 0;
+            while (n < from.length && edges.hasNext()) {
+                Edge e = edges.next();
+                // Drop edges whose endpoints are unknown (O(1) lookups).
+                result.validationCount++;
+                metrics.validations++;
+                Integer u = ids.get(e.getFrom());
+                Integer v = ids.get(e.getTo());
+                if (u == null || v == null) continue;
+                from[n] = u;
+                to[n] = v;
+                weight[n] = e.getWeight();
+                n++;
+            }
+            return n;
+        }, chunkSize, chunkSize, tempDir);
+    }
+
+    private ExternalKruskalAlgorithm(String[] names, int chunkSize) {
+        if (chunkSize <= 0) throw new IllegalArgumentException("chunkSize must be positive");
+        this.names = names;
+        this.sets = new DisjointSet(names.length);
+        this.needed = Math.max(names.length - 1, 0);
+        result.strategy = "external-merge";
+        result.chunkSize = chunkSize;
+        result.metrics = metrics;
+    }
+
+    private static String[] namesOf(EdgeSource source) {
+        String[] names = new String[source.getVertexCount()];
+        for (int v = 0; v < names.length; v++) names[v] = source.getName(v);
+        return names;
+    }
+
+    public Result getResult() {
+        return result;
+    }
+
+    /**
+     * Spills sorted runs and merges them into the MST.
+     *
+     * @param reader    source of the edge chunks
+     * @param chunkSize number of edges per sorted run
+     * @param sizeHint  upper bound on the number of edges read at once (keeps the buffers of small inputs small)
+     * @param tempDir   directory for the run files, or null
+     */
+    private void run(ChunkReader reader, int chunkSize, long sizeHint, Path tempDir) throws IOException {
+        long start = System.nanoTime();
+        long cpuStart = CpuTime.now();
+        int capacity = (int) Math.max(1, Math.min(chunkSize, sizeHint));
+        int[] from = new int[capacity];
+        int[] to = new int[capacity];
+        int[] weight = new int[capacity];
+        int[] ids = new int[capacity];
+        List<Path> runs = new ArrayList<>();
+        try {
+            // Step 1: Read, sort and spill one chunk at a time.
+            while (true) {
+                int n;
+                try (var _ = metrics.phase("sort")) {
+                    n = reader.read(from, to, weight);
+                    for (int i = 0; i < n; i++) ids[i] = i;
+                    // The radix sort is stable, so ties keep the input order within the chunk.
+                    EdgeSort.radixSort(ids, 0, n, weight);
+                    metrics.sorted += n;
+                }
+                if (n == 0) break;
+                if (runs.isEmpty() && n < capacity) {
+                    // Step 2a: The whole input fits into one chunk: scan it directly, nothing is spilled.
+                    try (var _ = metrics.phase("scan")) {
+                        for (int i = 0; i < n && result.mstEdges.size() < needed; i++) {
+                            int e = ids[i];
+                            tryAdd(from[e], to[e], weight[e]);
+                        }
+                    }
+                    return;
+                }
+                try (var _ = metrics.phase("spill")) {
+                    runs.add(spill(ids, n, from, to, weight, tempDir));
+                }
+                if (n < capacity) break;
+            }
+            // Step 2b: Merge the runs in weight order until the tree is complete.
+            try (var _ = metrics.phase("merge")) {
+                merge(runs);
+            }
+        } finally {
+            // Step 3: Remove the run files and record the execution time.
+            for (Path run : runs) Files.deleteIfExists(run);
+            result.runs = runs.size();
+            result.operationsCount = metrics.operations();
+            result.executionTimeMs = (System.nanoTime() - start) / 1_000_000.0;
+            result.cpuTimeMs = CpuTime.elapsedMs(cpuStart);
+            // Every valid edge is sorted exactly once, so the sorted count is the edge count.
+            metrics.commit(result.strategy, names.length, (int) Math.min(Integer.MAX_VALUE, metrics.sorted),
+                    result.totalCost);
+        }
+    }
+
+    /**
+     * Writes one sorted chunk to a new run file.
+     *
+     * @return the path of the run file
+     */
+    private Path spill(int[] ids, int n, int[] from, int[] to, int[] weight, Path tempDir) throws IOException {
+        Path file = tempDir == null
+                ? Files.createTempFile("mst-run-", ".bin")
+                : Files.createTempFile(tempDir, "mst-run-", ".bin");
+        try (DataOutputStream out = new DataOutputStream(
+                new BufferedOutputStream(Files.newOutputStream(file), BUFFER_SIZE))) {
+            for (int i = 0; i < n; i++) {
+                int e = ids[i];
+                out.writeInt(weight[e]);
+                out.writeInt(from[e]);
+                out.writeInt(to[e]);
+            }
+        } catch (IOException e) {
+            Files.deleteIfExists(file);
+            throw e;
+        }
+        result.spilledBytes += (long) RECORD_BYTES * n;
+        return file;
+    }
+
+    /**
+     * K-way merge of the sorted runs with a heap of packed (weight, run index) keys.
+     * Only the current record of every run is kept in memory.
+     */
+    private void merge(List<Path> runs) throws IOException {
+        int k = runs.size();
+        DataInputStream[] in = new DataInputStream[k];
+        long[] remaining = new long[k];
+        int[] curFrom = new int[k];
+        int[] curTo = new int[k];
+        LongMinHeap heap = new LongMinHeap(k);
+        try {
+            for (int r = 0; r < k; r++) {
+                in[r] = new DataInputStream(new BufferedInputStream(Files.newInputStream(runs.get(r)), BUFFER_SIZE));
+                remaining[r] = Files.size(runs.get(r)) / RECORD_BYTES;
+                advance(in, remaining, curFrom, curTo, heap, r);
+            }
+            while (!heap.isEmpty() && result.mstEdges.size() < needed) {
+                long key = heap.poll();
+                int r = LongMinHeap.idOf(key);
+                metrics.heapPops++;
+                tryAdd(curFrom[r], curTo[r], LongMinHeap.weightOf(key));
+                advance(in, remaining, curFrom, curTo, heap, r);
+            }
+        } finally {
+            for (DataInputStream s : in) {
+                if (s != null) s.close();
+            }
+        }
+    }
+
+    /**
+     * Reads the next record of run r (if any) and offers it to the merge heap.
+     */
+    private void advance(DataInputStream[] in, long[] remaining, int[] curFrom, int[] curTo,
+                         LongMinHeap heap, int r) throws IOException {
+        if (remaining[r] == 0) return;
+        remaining[r]--;
+        int w = in[r].readInt();
+        curFrom[r] = in[r].readInt();
+        curTo[r] = in[r].readInt();
+        heap.add(LongMinHeap.pack(w, r));
+        metrics.heapPushes++;
+    }
+
+    /**
+     * Adds an edge to the MST if its endpoints are still in different components.
+     */
+    private void tryAdd(int u, int v, int w) {
+        metrics.finds += 2;
+        if (sets.find(u) != sets.find(v)) {
+            metrics.unions++;
+            sets.union(u, v);
+            result.mstEdges.add(new Edge(names[u], names[v], w));
+            result.totalCost += w;
+        }
+    }
+}
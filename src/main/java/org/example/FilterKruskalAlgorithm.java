@@ -0,0 +1,324 @@
+package org.example;
+
+import java.util.*;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.stream.IntStream;
+
+/**
+ * Parallel Filter-Kruskal algorithm for finding the Minimum Spanning Tree (MST).
+ *
+ * The edge ids are split around a pivot into a light and a heavy partition.
+ * The light partition is solved first (recursively); afterwards every heavy edge whose
+ * endpoints are already connected is filtered out before the heavy partition is processed,
+ * so most heavy edges are never sorted at all. Partitioning and filtering run in parallel
+ * on a {@link ForkJoinPool}, small partitions are radix sorted and scanned like in
+ * {@link KruskalAlgorithm}.
+ *
+ * Edges are ordered by (weight, edge id), the same total order as the stable sort in
+ * {@link KruskalAlgorithm}, so both produce exactly the same MST edges.
+ */
+public class FilterKruskalAlgorithm {
+
+    /** Partitions up to this size are sorted and scanned directly */
+    public static final int SEQUENTIAL_THRESHOLD = 1 << 14;
+
+    private final Result result;
+    // Counters shared by the pool workers; they are copied into the metrics at the end.
+    private final LongAdder sorted = new LongAdder();
+    private final LongAdder finds = new LongAdder();
+    private final LongAdder unions = new LongAdder();
+    private CompactGraph cg;
+    private DisjointSet sets;
+    private int needed;
+    /** Ids of the accepted MST edges, in acceptance order */
+    private int[] accepted;
+    private int acceptedCount;
+
+    /**
+     * Result of the Filter-Kruskal algorithm; it has the same shape as the sequential one.
+     */
+    public static class Result extends KruskalAlgorithm.Result {
+        /**
+         * Parallelism of the pool the algorithm ran on.
+         */
+        public int parallelism;
+    }
+
+    /**
+     * Runs Filter-Kruskal on a dedicated pool with one worker per available processor.
+     *
+     * @param graph The input graph data structure.
+     * @param nodes The list of all vertices in the graph.
+     * @param edges The list of all edges with their weights.
+     */
+    public FilterKruskalAlgorithm(GraphData graph, List<String> nodes, List<Edge> edges) {
+        this(graph, nodes, edges, Runtime.getRuntime().availableProcessors());
+    }
+
+    /**
+     * Runs Filter-Kruskal on a dedicated pool with the given parallelism.
+     *
+     * @param graph       The input graph data structure.
+     * @param nodes       The list of all vertices in the graph.
+     * @param edges       The list of all edges with their weights.
+     * @param parallelism Number of worker threads.
+     */
+    public FilterKruskalAlgorithm(GraphData graph, List<String> nodes, List<Edge> edges, int parallelism) {
+        ForkJoinPool pool = new ForkJoinPool(parallelism);
+        try {
+            result = run(graph, nodes, edges, pool);
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    /**
+     * Runs Filter-Kruskal on an existing pool (the pool is not shut down).
+     *
+     * @param graph The input graph data structure.
+     * @param nodes The list of all vertices in the graph.
+     * @param edges The list of all edges with their weights.
+     * @param pool  The pool that runs partitioning, filtering and sorting.
+     */
+    public FilterKruskalAlgorithm(GraphData graph, List<String> nodes, List<Edge> edges, ForkJoinPool pool) {
+        result = run(graph, nodes, edges, pool);
+    }
+
+    public Result getResult() {
+        return result;
+    }
+
+    private Result run(GraphData graph, List<String> nodes, List<Edge> edges, ForkJoinPool pool) {
+        long start = System.nanoTime();
+        long cpuStart = CpuTime.now();
+        Result r = new Result();
+
+        // Step 1: Obtain the compact graph and initialize the disjoint-set structure.
+        cg = CompactGraph.of(graph, nodes, edges);
+        r.metrics = new Metrics("filter-kruskal");
+        r.metrics.include(cg.getBuildMetrics());
+        r.validationCount = cg.getValidationCount();
+        r.strategy = "filter-kruskal";
+        r.parallelism = pool.getParallelism();
+        sets = new DisjointSet(cg.getVertexCount());
+        needed = Math.max(cg.getVertexCount() - 1, 0);
+
+        // Step 2: Run the recursion inside the pool, so nested parallel work uses its workers.
+        int[] ids = new int[cg.getEdgeCount()];
+        for (int e = 0; e < ids.length; e++) ids[e] = e;
+        accepted = new int[needed];
+        // Only the calling thread is timed: the wall time is exact, CPU time and allocations exclude the workers.
+        try (var _ = r.metrics.phase("partition_filter_scan")) {
+            pool.submit(() -> filterKruskal(ids, 0, ids.length)).join();
+        }
+
+        // Step 3: Map the accepted edge ids back to named edges.
+        for (int i = 0; i < acceptedCount; i++) {
+            int e = accepted[i];
+            r.mstEdges.add(cg.toEdge(e));
+            r.totalCost += cg.getWeight()[e];
+        }
+        r.metrics.sorted += sorted.sum();
+        r.metrics.finds += finds.sum();
+        r.metrics.unions += unions.sum();
+        r.operationsCount = r.metrics.operations();
+        r.executionTimeMs = (System.nanoTime() - start) / 1_000_000.0;
+        // Only the calling thread is measured; the pool workers' CPU time is not included.
+        r.cpuTimeMs = CpuTime.elapsedMs(cpuStart);
+        r.metrics.commit(r.strategy, cg.getVertexCount(), cg.getEdgeCount(), r.totalCost);
+        return r;
+    }
+
+    /**
+     * Processes the edge ids in ids[lo, hi) in weight order.
+     *
+     * @param ids edge ids (reordered in place)
+     * @param lo  first index (inclusive)
+     * @param hi  last index (exclusive)
+     */
+    private void filterKruskal(int[] ids, int lo, int hi) {
+        if (acceptedCount >= needed || lo >= hi) return;
+        if (hi - lo <= SEQUENTIAL_THRESHOLD) {
+            kruskal(ids, lo, hi);
+            return;
+        }
+        // Split around a sampled pivot key: light = key <= pivot, heavy = key > pivot.
+        long pivot = pivot(ids, lo, hi);
+        int mid = partition(ids, lo, hi, pivot);
+        if (mid == hi) {
+            // The pivot was the largest key; sort the whole range instead of recursing forever.
+            sortAndScan(ids, lo, hi);
+            return;
+        }
+        filterKruskal(ids, lo, mid);
+        if (acceptedCount >= needed) return;
+        // Drop heavy edges that would close a cycle, then continue with the survivors.
+        int end = filter(ids, mid, hi);
+        filterKruskal(ids, mid, end);
+    }
+
+    /**
+     * Sorts a small range sequentially and scans it like Kruskal’s algorithm.
+     */
+    private void kruskal(int[] ids, int lo, int hi) {
+        // Partitioning and filtering are stable, so the ids of every range are still ascending
+        // and the stable radix sort orders them by (weight, id).
+        EdgeSort.radixSort(ids, lo, hi, cg.getWeight());
+        sorted.add(hi - lo);
+        scan(ids, lo, hi);
+    }
+
+    /**
+     * Sorts a large range in parallel by packed (weight, id) keys and scans it.
+     */
+    private void sortAndScan(int[] ids, int lo, int hi) {
+        int[] weight = cg.getWeight();
+        long[] keys = new long[hi - lo];
+        for (int i = lo; i < hi; i++) keys[i - lo] = LongMinHeap.pack(weight[ids[i]], ids[i]);
+        // Called from a worker of our pool, so the parallel sort forks into the same pool.
+        Arrays.parallelSort(keys);
+        for (int i = lo; i < hi; i++) ids[i] = LongMinHeap.idOf(keys[i - lo]);
+        sorted.add(hi - lo);
+        scan(ids, lo, hi);
+    }
+
+    /**
+     * Adds the edges of a sorted range that connect different components.
+     */
+    private void scan(int[] ids, int lo, int hi) {
+        int[] from = cg.getFrom();
+        int[] to = cg.getTo();
+        long tried = 0;
+        long merged = 0;
+        for (int i = lo; i < hi && acceptedCount < needed; i++) {
+            int e = ids[i];
+            tried++;
+            if (sets.union(from[e], to[e])) {
+                merged++;
+                accepted[acceptedCount++] = e;
+            }
+        }
+        // Every union attempt looks up both roots.
+        finds.add(2 * tried);
+        unions.add(merged);
+    }
+
+    /**
+     * Picks the median of evenly spaced sample keys as the pivot.
+     */
+    private long pivot(int[] ids, int lo, int hi) {
+        int[] weight = cg.getWeight();
+        int samples = Math.min(63, hi - lo);
+        long[] sample = new long[samples];
+        long step = (long) (hi - lo) / samples;
+        for (int i = 0; i < samples; i++) {
+            int e = ids[(int) (lo + i * step)];
+            sample[i] = LongMinHeap.pack(weight[e], e);
+        }
+        Arrays.sort(sample);
+        return sample[samples / 2];
+    }
+
+    /**
+     * Stable parallel partition of ids[lo, hi) into keys <= pivot followed by keys > pivot.
+     *
+     * @return the index of the first heavy edge
+     */
+    private int partition(int[] ids, int lo, int hi, long pivot) {
+        int[] weight = cg.getWeight();
+        int n = hi - lo;
+        int chunks = chunkCount(n);
+        int chunkSize = (n + chunks - 1) / chunks;
+        int[] lightCount = new int[chunks];
+
+        // Count light edges per chunk in parallel.
+        IntStream.range(0, chunks).parallel().forEach(c -> {
+            int start = lo + c * chunkSize;
+            int end = Math.min(start + chunkSize, hi);
+            int count = 0;
+            for (int i = start; i < end; i++) {
+                if (LongMinHeap.pack(weight[ids[i]], ids[i]) <= pivot) count++;
+            }
+            lightCount[c] = count;
+        });
+        sorted.add(n);
+
+        // Prefix sums give every chunk its output positions in both partitions.
+        int[] lightStart = new int[chunks];
+        int[] heavyStart = new int[chunks];
+        int totalLight = 0;
+        for (int c = 0; c < chunks; c++) {
+            lightStart[c] = totalLight;
+            totalLight += lightCount[c];
+        }
+        int heavy = totalLight;
+        for (int c = 0; c < chunks; c++) {
+            heavyStart[c] = heavy;
+            int start = c * chunkSize;
+            heavy += Math.max(0, Math.min(chunkSize, n - start)) - lightCount[c];
+        }
+
+        // Scatter in parallel into a temporary array and copy back.
+        int[] out = new int[n];
+        IntStream.range(0, chunks).parallel().forEach(c -> {
+            int start = lo + c * chunkSize;
+            int end = Math.min(start + chunkSize, hi);
+            int l = lightStart[c];
+            int h = heavyStart[c];
+            for (int i = start; i < end; i++) {
+                int e = ids[i];
+                if (LongMinHeap.pack(weight[e], e) <= pivot) out[l++] = e;
+                else out[h++] = e;
+            }
+        });
+        System.arraycopy(out, 0, ids, lo, n);
+        return lo + totalLight;
+    }
+
+    /**
+     * Removes, in parallel and keeping the order, every edge of ids[lo, hi) whose endpoints
+     * are already in the same component. No unions happen meanwhile, so the read-only
+     * {@link DisjointSet#root(int)} can be used concurrently.
+     *
+     * @return the end of the compacted range
+     */
+    private int filter(int[] ids, int lo, int hi) {
+        int[] from = cg.getFrom();
+        int[] to = cg.getTo();
+        int n = hi - lo;
+        int chunks = chunkCount(n);
+        int chunkSize = (n + chunks - 1) / chunks;
+        int[] kept = new int[chunks];
+
+        // Compact every chunk in place, remembering how many edges survived.
+        IntStream.range(0, chunks).parallel().forEach(c -> {
+            int start = lo + c * chunkSize;
+            int end = Math.min(start + chunkSize, hi);
+            int k = start;
+            for (int i = start; i < end; i++) {
+                int e = ids[i];
+                if (sets.root(from[e]) != sets.root(to[e])) ids[k++] = e;
+            }
+            kept[c] = Math.max(0, k - start);
+        });
+        finds.add(2L * n);
+
+        // Move the surviving runs next to each other.
+        int end = lo;
+        for (int c = 0; c < chunks; c++) {
+            int start = lo + c * chunkSize;
+            if (kept[c] > 0 && start != end) System.arraycopy(ids, start, ids, end, kept[c]);
+            end += kept[c];
+        }
+        return end;
+    }
+
+    private static int chunkCount(int n) {
+        int chunks = ForkJoinPool.getCommonPoolParallelism() * 4;
+        if (Thread.currentThread() instanceof java.util.concurrent.ForkJoinWorkerThread w) {
+            chunks = w.getPool().getParallelism() * 4;
+        }
+        return Math.max(1, Math.min(chunks, n / 1024 + 1));
+    }
+}
@@ -5,6 +5,7 @@ import java.util.List;
 /**
  * Represents a graph data structure with an identifier, type, nodes, and edges.
  * Provides methods to access and modify the graph's components and check for vertices and edges.
+ * Vertex and edge checks go through a lazily built {@link GraphIndex}.
  */
 public class GraphData {
     /** Unique identifier for the graph */
@@ -15,6 +16,43 @@ public class GraphData {
     private List<String> nodes;
     /** List of edges connecting nodes in the graph */
     private List<Edge> edges;
+    /** Cached compact form of the graph, built on first use */
+    private transient CompactGraph compact;
+    /** Lazily built vertex/edge lookup index */
+    private transient GraphIndex index;
+    /** True when the graph was created around an edge source whose edges are known to be valid */
+    private transient boolean validated;
+    /** Edges supplied directly by a non-heap source (e.g. a mapped binary file), or null */
+    private transient EdgeSource mapped;
+    /** True when the edges were supplied directly instead of built from the lists */
+    private transient boolean preloaded;
+
+    /**
+     * Creates a graph around an already built edge source (e.g. the mapped edges of a binary file).
+     * The node and edge lists are read-only views of the source, and the graph is marked validated.
+     * A {@link CompactGraph} source is used as the compact form directly; any other source is kept
+     * as is and only copied into a compact form when an algorithm needs adjacency.
+     *
+     * @param id     the graph id
+     * @param type   the graph type
+     * @param source the edges
+     * @return the graph
+     */
+    public static GraphData of(int id, String type, EdgeSource source) {
+        GraphData g = new GraphData();
+        g.id = id;
+        g.type = type;
+        g.nodes = source.nodeList();
+        g.edges = source.edgeList();
+        if (source instanceof CompactGraph compact) {
+            g.compact = compact;
+        } else {
+            g.mapped = source;
+        }
+        g.validated = true;
+        g.preloaded = true;
+        return g;
+    }
 
     /**
      * Returns the type of the graph.
@@ -62,6 +100,7 @@ public class GraphData {
      */
     public void setNodes(List<String> nodes) {
         this.nodes = nodes;
+        invalidate();
     }
 
     /**
@@ -78,6 +117,69 @@ public class GraphData {
      */
     public void setEdges(List<Edge> edges) {
         this.edges = edges;
+        invalidate();
+    }
+
+    /**
+     * Drops the cached index and compact form.
+     * Must be called after the node or edge lists are modified in place.
+     */
+    public synchronized void invalidate() {
+        compact = null;
+        mapped = null;
+        index = null;
+        validated = false;
+        preloaded = false;
+    }
+
+    /**
+     * Returns whether the graph is marked as validated (see {@link #of(int, String, EdgeSource)}).
+     * @return true if edge validation can be skipped
+     */
+    public synchronized boolean isValidated() {
+        return validated;
+    }
+
+    /**
+     * Returns the vertex/edge lookup index, building it on first use
+     * or when the node or edge lists were replaced or resized.
+     * @return the graph index
+     */
+    public synchronized GraphIndex getIndex() {
+        if (index == null || index.isStale(nodes, edges)) {
+            index = new GraphIndex(nodes, edges);
+            if (!preloaded) compact = null;
+        }
+        return index;
+    }
+
+    /**
+     * Returns the compact (int-interned, CSR) form of this graph.
+     * It is built once on first use and reused until nodes or edges are replaced
+     * or {@link #invalidate()} is called. For a graph created around a mapped edge source,
+     * this is the one heap copy of the edges.
+     * @return the compact graph
+     */
+    public synchronized CompactGraph toCompact() {
+        if (preloaded) {
+            if (compact == null) compact = CompactGraph.copyOf(mapped);
+            return compact;
+        }
+        // Refresh the index first; a stale index also drops the cached compact form.
+        getIndex();
+        if (compact == null) {
+            compact = new CompactGraph(this, nodes, edges);
+        }
+        return compact;
+    }
+
+    /**
+     * Returns the edges the algorithms should read: the source the graph was created around
+     * if it is not on the heap, otherwise the compact form.
+     * @return the edge source
+     */
+    public synchronized EdgeSource getEdgeSource() {
+        return mapped != null ? mapped : toCompact();
     }
 
     /**
@@ -87,7 +189,7 @@ public class GraphData {
      * @return true if the node exists in the graph, false otherwise
      */
     public boolean hasVertex(String node) {
-        return nodes != null && nodes.contains(node);
+        return nodes != null && getIndex().hasVertex(node);
     }
 
     /**
@@ -103,16 +205,8 @@ public class GraphData {
         // Return false immediately if edges list is null (no edges exist)
         if (edges == null) return false;
 
-        // Iterate through all edges to check for a connection between node1 and node2
-        for (Edge e : edges) {
-            // Check if the edge connects node1 to node2 or node2 to node1 (undirected)
-            if ((e.getFrom().equals(node1) && e.getTo().equals(node2)) ||
-                (e.getFrom().equals(node2) && e.getTo().equals(node1))) {
-                // Edge found, return true
-                return true;
-            }
-        }
-        // No edge found between the two nodes, return false
-        return false;
+        // Look up the packed undirected key of the two vertex ids in the index.
+        GraphIndex idx = getIndex();
+        return idx.hasEdge(idx.getId(node1), idx.getId(node2));
     }
 }
\ No newline at end of file
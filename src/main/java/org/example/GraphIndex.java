@@ -0,0 +1,145 @@
+package org.example;
+
+import java.util.*;
+
+/**
+ * Lookup index over a graph's vertices and edges.
+ * Vertex names map to dense ids in first-occurrence order, and every edge is stored
+ * as a packed undirected key, so vertex and edge checks are O(1) instead of list scans.
+ */
+public class GraphIndex {
+    /** Vertex name to dense id */
+    private final Map<String, Integer> vertexIds;
+    /** Vertex names indexed by id */
+    private final String[] names;
+    /** Packed undirected edge keys (smaller id in the high half) */
+    private final LongHashSet edgeKeys;
+    /** Node list the index was built from, used to detect replaced or resized lists */
+    private final List<String> sourceNodes;
+    private final int sourceNodeCount;
+    /** Edge list the index was built from */
+    private final List<Edge> sourceEdges;
+    private final int sourceEdgeCount;
+    /** Number of insert operations spent building the index */
+    private final int buildOperations;
+
+    /**
+     * Builds the index for the given vertex and edge lists.
+     *
+     * @param nodes List of vertices (may be null).
+     * @param edges List of edges (may be null).
+     */
+    public GraphIndex(List<String> nodes, List<Edge> edges) {
+        sourceNodes = nodes;
+        sourceNodeCount = nodes == null ? 0 : nodes.size();
+        sourceEdges = edges;
+        sourceEdgeCount = edges == null ? 0 : edges.size();
+
+        // Step 1: Intern vertex names (duplicates keep their first id).
+        vertexIds = new HashMap<>(Math.max(16, sourceNodeCount * 2));
+        List<String> unique = new ArrayList<>(sourceNodeCount);
+        int ops = 0;
+        if (nodes != null) {
+            for (String n : nodes) {
+                ops++;
+                if (vertexIds.putIfAbsent(n, unique.size()) == null) {
+                    unique.add(n);
+                }
+            }
+        }
+        names = unique.toArray(new String[0]);
+
+        // Step 2: Store every edge between known vertices as an undirected key.
+        edgeKeys = new LongHashSet(sourceEdgeCount);
+        if (edges != null) {
+            for (Edge e : edges) {
+                ops++;
+                Integer u = vertexIds.get(e.getFrom());
+                Integer v = vertexIds.get(e.getTo());
+                if (u != null && v != null) {
+                    edgeKeys.add(edgeKey(u, v));
+                }
+            }
+        }
+        buildOperations = ops;
+    }
+
+    /**
+     * Packs two vertex ids into an order-independent edge key.
+     *
+     * @param u first vertex id
+     * @param v second vertex id
+     * @return the packed key
+     */
+    public static long edgeKey(int u, int v) {
+        return u < v ? ((long) u << 32) | v : ((long) v << 32) | u;
+    }
+
+    /**
+     * Returns true if the index no longer matches the given lists
+     * (the lists were replaced or changed size).
+     *
+     * @param nodes current vertex list
+     * @param edges current edge list
+     * @return true if the index must be rebuilt
+     */
+    public boolean isStale(List<String> nodes, List<Edge> edges) {
+        return nodes != sourceNodes || edges != sourceEdges
+                || (nodes != null && nodes.size() != sourceNodeCount)
+                || (edges != null && edges.size() != sourceEdgeCount);
+    }
+
+    /**
+     * Returns the dense id of a vertex.
+     * @param node the vertex name
+     * @return the id, or -1 if the vertex is unknown
+     */
+    public int getId(String node) {
+        Integer id = vertexIds.get(node);
+        return id == null ? -1 : id;
+    }
+
+    /**
+     * Checks whether a vertex exists.
+     * @param node the vertex name
+     * @return true if the vertex exists
+     */
+    public boolean hasVertex(String node) {
+        return vertexIds.containsKey(node);
+    }
+
+    /**
+     * Checks whether an undirected edge exists between two vertex ids.
+     *
+     * @param u first vertex id
+     * @param v second vertex id
+     * @return true if the edge exists
+     */
+    public boolean hasEdge(int u, int v) {
+        return u >= 0 && v >= 0 && edgeKeys.contains(edgeKey(u, v));
+    }
+
+    /**
+     * Returns the vertex-name to id map.
+     * @return the map (must not be modified)
+     */
+    public Map<String, Integer> getVertexIds() {
+        return vertexIds;
+    }
+
+    /**
+     * Returns the vertex names indexed by id.
+     * @return array of names (must not be modified)
+     */
+    public String[] getNames() {
+        return names;
+    }
+
+    /**
+     * Returns the number of insert operations spent building the index.
+     * @return build operation count
+     */
+    public int getBuildOperations() {
+        return buildOperations;
+    }
+}
@@ -0,0 +1,34 @@
+package org.example;
+
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.*;
+import java.util.Iterator;
+
+/**
+ * A closeable, one-at-a-time sequence of input graphs.
+ */
+public interface GraphSource extends Iterator<GraphData>, Closeable {
+
+    /**
+     * Opens an input file in either supported format, detected from its first bytes:
+     * the binary graph format ({@link BinaryGraphFile}) or the JSON input schema.
+     *
+     * @param path       the input file
+     * @param filterType graph type to keep (small, medium, large), or "all"
+     * @return the graph source
+     * @throws IOException if the file cannot be opened or has an invalid header
+     */
+    static GraphSource open(Path path, String filterType) throws IOException {
+        if (BinaryGraphFile.isBinary(path)) {
+            return BinaryGraphFile.open(path).graphs(filterType);
+        }
+        Reader in = Files.newBufferedReader(path, StandardCharsets.UTF_8);
+        try {
+            return new GraphStreamReader(in, filterType);
+        } catch (IOException | RuntimeException e) {
+            in.close();
+            throw e;
+        }
+    }
+}
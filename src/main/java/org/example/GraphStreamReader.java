@@ -0,0 +1,91 @@
+package org.example;
+
+import com.google.gson.JsonIOException;
+import com.google.gson.stream.JsonReader;
+
+import java.io.*;
+import java.util.NoSuchElementException;
+
+/**
+ * Reads the graphs of an input file one at a time with Gson's streaming {@link JsonReader}.
+ *
+ * Only the graph currently being returned is materialized, so memory use is bounded by the
+ * largest graph instead of the file size. Graphs whose type does not match the filter are
+ * skipped token by token: when "type" appears before "nodes" and "edges" (as in the
+ * regular input files), their nodes and edges are never turned into objects at all.
+ * Graphs are read by {@link GraphTypeAdapters#readGraph}, which interns vertex names and
+ * builds valid graphs directly in their compact form.
+ */
+public class GraphStreamReader implements GraphSource {
+    private final JsonReader reader;
+    private final String filterType;
+    /** Next matching graph, read ahead by {@link #hasNext()} */
+    private GraphData next;
+    private boolean finished;
+
+    /**
+     * Opens a stream over an input in the {@code {"graphs": [...]}} format.
+     *
+     * @param in         the JSON input
+     * @param filterType graph type to keep (small, medium, large), or "all"
+     * @throws IOException if the input does not start with a graph list
+     */
+    public GraphStreamReader(Reader in, String filterType) throws IOException {
+        this.reader = new JsonReader(in);
+        this.filterType = filterType;
+
+        // Move to the start of the "graphs" array, skipping any other top-level fields.
+        reader.beginObject();
+        while (reader.hasNext()) {
+            if (reader.nextName().equals("graphs")) {
+                reader.beginArray();
+                return;
+            }
+            reader.skipValue();
+        }
+        finished = true;
+    }
+
+    @Override
+    public boolean hasNext() {
+        try {
+            while (next == null && !finished) {
+                if (!reader.hasNext()) {
+                    reader.endArray();
+                    finished = true;
+                    break;
+                }
+                next = readGraph();
+            }
+            return next != null;
+        } catch (IOException e) {
+            throw new JsonIOException(e);
+        }
+    }
+
+    @Override
+    public GraphData next() {
+        if (!hasNext()) throw new NoSuchElementException();
+        GraphData g = next;
+        next = null;
+        return g;
+    }
+
+    /**
+     * Reads one graph object with the hand-written graph adapter.
+     *
+     * @return the graph, or null if its type does not match the filter
+     */
+    private GraphData readGraph() throws IOException {
+        return GraphTypeAdapters.readGraph(reader, this::matches);
+    }
+
+    private boolean matches(String type) {
+        return filterType.equals("all") || (type != null && type.trim().equalsIgnoreCase(filterType));
+    }
+
+    @Override
+    public void close() throws IOException {
+        reader.close();
+    }
+}
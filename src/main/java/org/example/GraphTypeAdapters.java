@@ -0,0 +1,349 @@
+package org.example;
+
+import com.google.gson.*;
+import com.google.gson.reflect.TypeToken;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+import com.google.gson.stream.JsonWriter;
+
+import java.io.IOException;
+import java.util.*;
+import java.util.function.Predicate;
+
+/**
+ * Hand-written Gson type adapters for the graph input and for edges, plus name interning for
+ * the MST results.
+ *
+ * Gson's reflective adapters create every {@link Edge} through reflection and keep a separate
+ * copy of a vertex name in every edge that mentions it. These adapters instead:
+ * - read {@link GraphData} straight into primitive id/weight arrays: vertex names are interned
+ *   through the node list, and when every edge references a listed vertex (and no name is
+ *   listed twice) the graph is built as a {@link CompactGraph} without any Edge objects, like a
+ *   graph loaded from a binary file. Other graphs fall back to node and edge lists whose edges
+ *   share the node list's String instances.
+ * - read and write {@link Edge} with its constructor and getters.
+ * - intern the vertex names of all edges within one MST result, so a result read back from the
+ *   {@link ResultCache} holds every name once. The result classes themselves are not
+ *   hand-written: {@link ResultAdapterFactory} wraps Gson's reflective adapter of each result
+ *   class, which still maps every field (counters, metrics, nested lists) by reflection.
+ * The JSON produced is the same as with the reflective adapters.
+ */
+public final class GraphTypeAdapters {
+
+    /** Result classes whose edges are interned while reading */
+    private static final Set<Class<?>> RESULT_TYPES = Set.of(
+            PrimAlgorithm.Result.class, KruskalAlgorithm.Result.class, FilterKruskalAlgorithm.Result.class,
+            ExternalKruskalAlgorithm.Result.class, DistributedKruskalAlgorithm.Result.class,
+            BoruvkaAlgorithm.Result.class,
+            SpanningForestAlgorithm.Result.class);
+
+    /** Name table of the result currently being read on this thread, or null */
+    private static final ThreadLocal<Map<String, String>> RESULT_NAMES = new ThreadLocal<>();
+
+    private GraphTypeAdapters() {
+    }
+
+    /**
+     * Registers the adapters.
+     *
+     * @param builder the builder to register them with
+     * @return the same builder
+     */
+    public static GsonBuilder register(GsonBuilder builder) {
+        return builder
+                .registerTypeAdapter(Edge.class, new EdgeAdapter().nullSafe())
+                .registerTypeAdapter(GraphData.class, new GraphDataAdapter().nullSafe())
+                .registerTypeAdapterFactory(new ResultAdapterFactory());
+    }
+
+    /**
+     * Creates a Gson instance with the adapters registered.
+     * @return the Gson instance
+     */
+    public static Gson create() {
+        return register(new GsonBuilder()).create();
+    }
+
+    /**
+     * Reads one graph object.
+     *
+     * @param in     the reader, positioned at the graph object
+     * @param accept decides from the "type" field whether the graph is wanted; nodes and edges of
+     *               a rejected graph are skipped token by token when "type" comes first
+     * @return the graph, or null if its type was rejected
+     * @throws IOException if the input cannot be read
+     */
+    public static GraphData readGraph(JsonReader in, Predicate<String> accept) throws IOException {
+        in.beginObject();
+        return readGraphFields(in, in.hasNext() ? in.nextName() : null, accept);
+    }
+
+    /**
+     * Reads the rest of a graph object whose opening brace and first field name were already read
+     * by the caller, e.g. to tell a graph from a batch {"graphs": [...]} without buffering the body.
+     *
+     * @param in        the reader, positioned at the value of the first field
+     * @param firstName the name of the first field, or null if the object is empty
+     * @param accept    decides from the "type" field whether the graph is wanted (as in {@link #readGraph})
+     * @return the graph, or null if its type was rejected
+     * @throws IOException if the input cannot be read
+     */
+    static GraphData readGraphFields(JsonReader in, String firstName, Predicate<String> accept) throws IOException {
+        GraphReader graph = new GraphReader();
+        boolean typeSeen = false;
+        boolean skip = false;
+        for (String name = firstName; name != null; name = in.hasNext() ? in.nextName() : null) {
+            if (skip) {
+                // The type already excluded this graph: skip the rest without building anything.
+                in.skipValue();
+                continue;
+            }
+            switch (name) {
+                case "id" -> graph.id = in.nextInt();
+                case "type" -> {
+                    graph.type = in.peek() == JsonToken.NULL ? nullValue(in) : in.nextString();
+                    typeSeen = true;
+                    skip = !accept.test(graph.type);
+                }
+                case "nodes" -> graph.readNodes(in);
+                case "edges" -> graph.readEdges(in);
+                default -> in.skipValue();
+            }
+        }
+        in.endObject();
+        if (skip || (!typeSeen && !accept.test(null))) return null;
+        return graph.build();
+    }
+
+    private static String nullValue(JsonReader in) throws IOException {
+        in.nextNull();
+        return null;
+    }
+
+    /**
+     * Collects the fields of one graph while it is read.
+     */
+    private static final class GraphReader {
+        int id;
+        String type;
+        /** Node list as given (duplicates included), or null if absent */
+        List<String> nodes;
+        /** Distinct vertex names in first-seen order; their index is the vertex id */
+        final List<String> names = new ArrayList<>();
+        final Map<String, Integer> ids = new HashMap<>();
+        /** True if a node is listed twice or is null, so the node list differs from the vertex names */
+        boolean duplicateNodes;
+        /** Edges as vertex ids and weights, while every edge references a listed vertex */
+        int[] from = new int[16];
+        int[] to = new int[16];
+        int[] weight = new int[16];
+        int count;
+        /** Edge list once the primitive form no longer applies, or null */
+        List<Edge> edges;
+        boolean edgesSeen;
+        /** Vertex-id lookups spent interning nodes and resolving edge endpoints */
+        int lookups;
+
+        void readNodes(JsonReader in) throws IOException {
+            nodes = new ArrayList<>();
+            in.beginArray();
+            while (in.hasNext()) {
+                String node = in.peek() == JsonToken.NULL ? nullValue(in) : in.nextString();
+                if (node == null) duplicateNodes = true;
+                nodes.add(intern(node));
+            }
+            in.endArray();
+        }
+
+        void readEdges(JsonReader in) throws IOException {
+            edgesSeen = true;
+            // Edges listed before the nodes cannot be mapped to vertex ids yet.
+            if (nodes == null && edges == null) toEdgeList();
+            in.beginArray();
+            while (in.hasNext()) {
+                String f = null;
+                String t = null;
+                int w = 0;
+                in.beginObject();
+                while (in.hasNext()) {
+                    switch (in.nextName()) {
+                        case "from" -> f = in.peek() == JsonToken.NULL ? nullValue(in) : in.nextString();
+                        case "to" -> t = in.peek() == JsonToken.NULL ? nullValue(in) : in.nextString();
+                        case "weight" -> w = in.nextInt();
+                        default -> in.skipValue();
+                    }
+                }
+                in.endObject();
+                addEdge(f, t, w);
+            }
+            in.endArray();
+        }
+
+        private void addEdge(String f, String t, int w) {
+            if (edges == null) {
+                lookups += 2;
+                Integer u = f == null ? null : ids.get(f);
+                Integer v = t == null ? null : ids.get(t);
+                if (u != null && v != null) {
+                    if (count == from.length) {
+                        int n = count * 2;
+                        from = Arrays.copyOf(from, n);
+                        to = Arrays.copyOf(to, n);
+                        weight = Arrays.copyOf(weight, n);
+                    }
+                    from[count] = u;
+                    to[count] = v;
+                    weight[count++] = w;
+                    return;
+                }
+                // An unknown endpoint: keep the edge as given and let the algorithms drop it.
+                toEdgeList();
+            }
+            edges.add(new Edge(intern(f), intern(t), w));
+        }
+
+        /**
+         * Returns the canonical instance of a vertex name, registering new names.
+         */
+        private String intern(String name) {
+            if (name == null) return null;
+            lookups++;
+            Integer id = ids.putIfAbsent(name, names.size());
+            if (id == null) {
+                names.add(name);
+                return name;
+            }
+            if (nodes != null && !edgesSeen) duplicateNodes = true;
+            return names.get(id);
+        }
+
+        /**
+         * Switches from the primitive form to an edge list.
+         */
+        private void toEdgeList() {
+            edges = new ArrayList<>(Math.max(count * 2, 16));
+            for (int e = 0; e < count; e++) {
+                edges.add(new Edge(names.get(from[e]), names.get(to[e]), weight[e]));
+            }
+            from = to = weight = null;
+        }
+
+        GraphData build() {
+            if (nodes != null && edgesSeen && edges == null && !duplicateNodes) {
+                // Every edge is valid: the compact form is the graph. The lookups that proved it are
+                // its validation cost, as they would have been when building it from the lists.
+                CompactGraph compact = new CompactGraph(names.toArray(new String[0]), ids,
+                        Arrays.copyOf(from, count), Arrays.copyOf(to, count), Arrays.copyOf(weight, count),
+                        lookups);
+                return GraphData.of(id, type, compact);
+            }
+            GraphData g = new GraphData();
+            g.setId(id);
+            g.setType(type);
+            g.setNodes(nodes);
+            if (edgesSeen) {
+                if (edges == null) toEdgeList();
+                g.setEdges(edges);
+            }
+            return g;
+        }
+    }
+
+    /**
+     * {@link GraphData} in the input schema: {"id", "type", "nodes", "edges"}.
+     */
+    static final class GraphDataAdapter extends TypeAdapter<GraphData> {
+        private final EdgeAdapter edgeAdapter = new EdgeAdapter();
+
+        @Override
+        public void write(JsonWriter out, GraphData g) throws IOException {
+            out.beginObject();
+            out.name("id").value(g.getId());
+            if (g.getType() != null) out.name("type").value(g.getType());
+            if (g.getNodes() != null) {
+                out.name("nodes").beginArray();
+                for (String node : g.getNodes()) out.value(node);
+                out.endArray();
+            }
+            if (g.getEdges() != null) {
+                out.name("edges").beginArray();
+                for (Edge e : g.getEdges()) {
+                    if (e == null) out.nullValue();
+                    else edgeAdapter.write(out, e);
+                }
+                out.endArray();
+            }
+            out.endObject();
+        }
+
+        @Override
+        public GraphData read(JsonReader in) throws IOException {
+            return readGraph(in, type -> true);
+        }
+    }
+
+    /**
+     * {@link Edge} as {"from", "to", "weight"}; inside a result its names are interned.
+     */
+    static final class EdgeAdapter extends TypeAdapter<Edge> {
+        @Override
+        public void write(JsonWriter out, Edge e) throws IOException {
+            out.beginObject();
+            if (e.getFrom() != null) out.name("from").value(e.getFrom());
+            if (e.getTo() != null) out.name("to").value(e.getTo());
+            out.name("weight").value(e.getWeight());
+            out.endObject();
+        }
+
+        @Override
+        public Edge read(JsonReader in) throws IOException {
+            String from = null;
+            String to = null;
+            int weight = 0;
+            in.beginObject();
+            while (in.hasNext()) {
+                switch (in.nextName()) {
+                    case "from" -> from = in.peek() == JsonToken.NULL ? nullValue(in) : in.nextString();
+                    case "to" -> to = in.peek() == JsonToken.NULL ? nullValue(in) : in.nextString();
+                    case "weight" -> weight = in.nextInt();
+                    default -> in.skipValue();
+                }
+            }
+            in.endObject();
+            Map<String, String> names = RESULT_NAMES.get();
+            if (names != null) {
+                if (from != null) from = names.computeIfAbsent(from, k -> k);
+                if (to != null) to = names.computeIfAbsent(to, k -> k);
+            }
+            return new Edge(from, to, weight);
+        }
+    }
+
+    /**
+     * Wraps the adapters of the result classes so that all edges of one result share one name table.
+     */
+    private static final class ResultAdapterFactory implements TypeAdapterFactory {
+        @Override
+        public <T> TypeAdapter<T> create(Gson gson, TypeToken<T> type) {
+            if (!RESULT_TYPES.contains(type.getRawType())) return null;
+            TypeAdapter<T> delegate = gson.getDelegateAdapter(this, type);
+            return new TypeAdapter<>() {
+                @Override
+                public void write(JsonWriter out, T value) throws IOException {
+                    delegate.write(out, value);
+                }
+
+                @Override
+                public T read(JsonReader in) throws IOException {
+                    boolean outermost = RESULT_NAMES.get() == null;
+                    if (outermost) RESULT_NAMES.set(new HashMap<>());
+                    try {
+                        return delegate.read(in);
+                    } finally {
+                        if (outermost) RESULT_NAMES.remove();
+                    }
+                }
+            };
+        }
+    }
+}
@@ -0,0 +1,156 @@
+package org.example;
+
+import java.util.Arrays;
+
+/**
+ * Indexed d-ary min-heap over int ids [0, n) with int keys.
+ *
+ * Each id is present at most once, so the heap never holds more than n entries,
+ * and the key of an id already in the heap can be lowered in place with
+ * {@link #decreaseKey(int, int)}. A higher arity (for example 4) gives a shallower heap,
+ * which makes decrease-key cheaper and keeps the children of a node in one cache line.
+ */
+public class IndexedMinHeap {
+    /** Number of children per node */
+    private final int arity;
+    /** Ids stored in heap order */
+    private final int[] heap;
+    /** Position of each id in the heap, or -1 if the id is not in the heap */
+    private final int[] pos;
+    /** Current key of each id */
+    private final int[] keys;
+    private int size;
+
+    /**
+     * Creates an empty heap for ids in [0, n).
+     *
+     * @param n     number of ids
+     * @param arity number of children per node (at least 2)
+     */
+    public IndexedMinHeap(int n, int arity) {
+        if (arity < 2) throw new IllegalArgumentException("Heap arity must be at least 2: " + arity);
+        this.arity = arity;
+        heap = new int[n];
+        pos = new int[n];
+        keys = new int[n];
+        Arrays.fill(pos, -1);
+    }
+
+    /**
+     * Returns true if the heap contains no ids.
+     * @return true if empty
+     */
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * Returns the number of ids in the heap.
+     * @return heap size
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Checks whether an id is currently in the heap.
+     * @param id the id
+     * @return true if present
+     */
+    public boolean contains(int id) {
+        return pos[id] >= 0;
+    }
+
+    /**
+     * Returns the current key of an id in the heap.
+     * @param id the id
+     * @return its key
+     */
+    public int keyOf(int id) {
+        return keys[id];
+    }
+
+    /**
+     * Inserts an id that is not yet in the heap.
+     *
+     * @param id  the id
+     * @param key its key
+     */
+    public void insert(int id, int key) {
+        keys[id] = key;
+        pos[id] = size;
+        heap[size] = id;
+        siftUp(size++);
+    }
+
+    /**
+     * Lowers the key of an id that is already in the heap.
+     *
+     * @param id  the id
+     * @param key the new key (must not be larger than the current one)
+     */
+    public void decreaseKey(int id, int key) {
+        keys[id] = key;
+        siftUp(pos[id]);
+    }
+
+    /**
+     * Returns the id with the smallest key without removing it.
+     * @return the id
+     */
+    public int peekId() {
+        return heap[0];
+    }
+
+    /**
+     * Removes and returns the id with the smallest key.
+     * @return the id
+     */
+    public int poll() {
+        int min = heap[0];
+        pos[min] = -1;
+        int last = heap[--size];
+        if (size > 0) {
+            heap[0] = last;
+            pos[last] = 0;
+            siftDown(0);
+        }
+        return min;
+    }
+
+    private void siftUp(int i) {
+        int id = heap[i];
+        int key = keys[id];
+        while (i > 0) {
+            int parent = (i - 1) / arity;
+            int p = heap[parent];
+            if (keys[p] <= key) break;
+            heap[i] = p;
+            pos[p] = i;
+            i = parent;
+        }
+        heap[i] = id;
+        pos[id] = i;
+    }
+
+    private void siftDown(int i) {
+        int id = heap[i];
+        int key = keys[id];
+        while (true) {
+            // Find the smallest of up to 'arity' children.
+            int first = i * arity + 1;
+            if (first >= size) break;
+            int end = Math.min(first + arity, size);
+            int best = first;
+            for (int c = first + 1; c < end; c++) {
+                if (keys[heap[c]] < keys[heap[best]]) best = c;
+            }
+            if (keys[heap[best]] >= key) break;
+            heap[i] = heap[best];
+            pos[heap[i]] = i;
+            i = best;
+        }
+        heap[i] = id;
+        pos[id] = i;
+    }
+}
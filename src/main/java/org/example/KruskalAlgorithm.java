@@ -4,6 +4,16 @@ import java.util.*;
 
 public class KruskalAlgorithm {
 
+    /**
+     * Selects how edges are brought into weight order.
+     */
+    public enum Mode {
+        /** Stable LSD radix sort of all edge ids, then a scan with early exit */
+        RADIX_SORT,
+        /** O(E) heapify of all edges, popped on demand until V - 1 edges are accepted */
+        LAZY_HEAP
+    }
+
     /**
      * Result class stores the outcome of the Kruskal's algorithm execution.
      *
@@ -23,20 +33,49 @@ public class KruskalAlgorithm {
         public int totalCost;
 
         /**
-         * Number of operations performed during the algorithm.
-         * This can be used to analyze the algorithm's efficiency.
+         * Number of operations performed during the algorithm (the sum of the MST work counters
+         * in {@link #metrics}). This can be used to analyze the algorithm's efficiency.
          */
-        public int operationsCount;
+        public long operationsCount;
+
+        /**
+         * Number of lookups spent validating vertices and edges before the algorithm ran.
+         * Kept apart from operationsCount so the MST work and the validation cost can be compared.
+         */
+        public int validationCount;
 
         /**
          * Execution time of the algorithm in milliseconds.
          */
         public double executionTimeMs;
+
+        /**
+         * CPU time of the thread that ran the algorithm in milliseconds (-1 if not measurable).
+         * Unlike executionTimeMs it is not inflated by other work running concurrently.
+         */
+        public double cpuTimeMs;
+
+        /**
+         * Which variant produced the result ("radix-sort" or "lazy-heap").
+         */
+        public String strategy;
+
+        /**
+         * Separate counters and per-phase timings (including building the compact graph).
+         */
+        public Metrics metrics;
+
+        /**
+         * True when the result was served from the result cache; the timings and metrics are then
+         * those of the earlier run that computed it.
+         */
+        public boolean cached;
     }
 
     // The following variables store the algorithm's results and the union-find parent relationships.
     private final Result result; // Holds the algorithm's final outputs (MST, total cost, operations, and time).
-    private final Map<String, String> parent = new HashMap<>(); // Represents the disjoint-set parent map used for union-find operations.
+    private DisjointSet sets; // Array-backed disjoint-set structure (indexed by vertex id) used for union-find operations.
+    private Metrics metrics; // Separate operation counters and phase timings of this run.
 
     /**
      * Constructs the KruskalAlgorithm object and executes the Kruskal’s algorithm
@@ -48,45 +87,115 @@ public class KruskalAlgorithm {
      * @param edges The list of all edges with their weights.
      */
     public KruskalAlgorithm(GraphData graph, List<String> nodes, List<Edge> edges) {
+        this(graph, nodes, edges, Mode.RADIX_SORT);
+    }
+
+    /**
+     * Constructs the KruskalAlgorithm object and executes the selected variant of Kruskal’s algorithm.
+     * The caller's edge list is never reordered: only a private permutation of edge ids is sorted.
+     *
+     * @param graph The input graph data structure.
+     * @param nodes The list of all vertices in the graph.
+     * @param edges The list of all edges with their weights.
+     * @param mode  How the edges are brought into weight order.
+     */
+    public KruskalAlgorithm(GraphData graph, List<String> nodes, List<Edge> edges, Mode mode) {
+        // Obtain the int-interned edges of the graph; invalid edges are already dropped.
+        this(EdgeSource.of(graph, nodes, edges), mode);
+    }
+
+    /**
+     * Constructs the KruskalAlgorithm object and executes Kruskal’s algorithm directly on an
+     * edge source, e.g. an {@link OffHeapEdgeStore}. Edges are read through the interface,
+     * so they never have to be copied onto the heap.
+     *
+     * @param source The edges of the graph (assumed to be valid).
+     * @param mode   How the edges are brought into weight order.
+     */
+    public KruskalAlgorithm(EdgeSource source, Mode mode) {
         long start = System.nanoTime();
+        long cpuStart = CpuTime.now();
         // Start measuring execution time in nanoseconds to later calculate total duration.
         result = new Result();
+        metrics = new Metrics("kruskal");
+        result.metrics = metrics;
 
-        // Step 1: Sort all edges in non-decreasing order based on their weights.
-        // Kruskal’s algorithm always picks the smallest edge first to ensure minimal total cost.
-        edges.sort(Comparator.comparingInt(Edge::getWeight));
-        // Record the number of edges processed to track total operations for performance analysis.
-        result.operationsCount += edges.size();
+        if (source instanceof CompactGraph cg) {
+            result.validationCount = cg.getValidationCount();
+            metrics.include(cg.getBuildMetrics());
+        }
+        int edgeCount = source.getEdgeCount();
+        // A spanning tree never needs more than V - 1 edges, so the scan can stop there.
+        int needed = Math.max(source.getVertexCount() - 1, 0);
 
-        // Step 2: Initialize the disjoint-set (union-find) structure.
+        // Step 1: Initialize the disjoint-set (union-find) structure.
         // Each node is initially its own parent, representing separate components.
-        for (String n : nodes) parent.put(n, n);
+        sets = new DisjointSet(source.getVertexCount());
+
+        if (mode == Mode.LAZY_HEAP) {
+            // Step 2: Heapify all (weight, edge id) keys in O(E); edges are only ordered as far as they are popped.
+            result.strategy = "lazy-heap";
+            LongMinHeap heap;
+            try (var _ = metrics.phase("heapify")) {
+                long[] keys = new long[edgeCount];
+                for (int e = 0; e < edgeCount; e++) {
+                    keys[e] = LongMinHeap.pack(source.getWeight(e), e);
+                }
+                heap = new LongMinHeap(keys);
+                metrics.heapPushes += edgeCount;
+            }
 
-        // Step 3: Iterate through all edges and decide whether to include them in the MST.
-        for (Edge e : edges) {
-            // Skip invalid edges that reference nonexistent vertices.
-            if (!graph.hasVertex(e.getFrom()) || !graph.hasVertex(e.getTo())) {
-                continue;
+            // Step 3: Pop the cheapest remaining edge until the tree is complete.
+            try (var _ = metrics.phase("scan")) {
+                while (!heap.isEmpty() && result.mstEdges.size() < needed) {
+                    metrics.heapPops++;
+                    tryAdd(source, LongMinHeap.idOf(heap.poll()));
+                }
             }
-            // Skip edges that do not exist in the graph structure.
-            if (!graph.hasEdgeBetween(e.getFrom(), e.getTo())) {
-                continue;
+        } else {
+            // Step 2: Sort all edge ids in non-decreasing order based on their weights.
+            // Kruskal’s algorithm always picks the smallest edge first to ensure minimal total cost.
+            // The radix sort is stable, so ties keep the input order.
+            result.strategy = "radix-sort";
+            int[] order;
+            try (var _ = metrics.phase("sort")) {
+                order = EdgeSort.radixOrder(source);
+                // Record the number of edges processed to track total operations for performance analysis.
+                metrics.sorted += edgeCount;
             }
 
-            // Find the root (representative) of each vertex using the union-find structure.
-            String root1 = find(e.getFrom());
-            String root2 = find(e.getTo());
-            // If the two vertices belong to different sets, including this edge will not create a cycle.
-            if (!root1.equals(root2)) {
-                // Include the edge in the MST and update total cost.
-                result.mstEdges.add(e);
-                result.totalCost += e.getWeight();
-                // Merge the two sets so future edges connecting these nodes are recognized as part of the same component.
-                union(root1, root2);
+            // Step 3: Iterate through the sorted edges until the tree is complete.
+            try (var _ = metrics.phase("scan")) {
+                for (int i = 0; i < order.length && result.mstEdges.size() < needed; i++) {
+                    tryAdd(source, order[i]);
+                }
             }
         }
         // Step 4: Record total execution time in milliseconds.
+        result.operationsCount = metrics.operations();
         result.executionTimeMs = (System.nanoTime() - start) / 1_000_000.0;
+        result.cpuTimeMs = CpuTime.elapsedMs(cpuStart);
+        metrics.commit(result.strategy, source.getVertexCount(), edgeCount, result.totalCost);
+    }
+
+    /**
+     * Adds an edge to the MST if its endpoints are still in different components.
+     *
+     * @param source The edges of the graph.
+     * @param e      The edge id.
+     */
+    private void tryAdd(EdgeSource source, int e) {
+        // Find the root (representative) of each vertex using the union-find structure.
+        int root1 = find(source.getFrom(e));
+        int root2 = find(source.getTo(e));
+        // If the two vertices belong to different sets, including this edge will not create a cycle.
+        if (root1 != root2) {
+            // Include the edge in the MST and update total cost.
+            result.mstEdges.add(source.toEdge(e));
+            result.totalCost += source.getWeight(e);
+            // Merge the two sets so future edges connecting these nodes are recognized as part of the same component.
+            union(root1, root2);
+        }
     }
 
     public Result getResult() {
@@ -94,32 +203,28 @@ public class KruskalAlgorithm {
     }
 
     /**
-     * Finds the root (representative) of the given node using path compression.
-     * Path compression optimizes the structure by making each node point directly
-     * to its root, improving efficiency for future find operations.
+     * Finds the root (representative) of the given node.
+     * The disjoint set uses iterative path halving, so long chains cannot overflow the stack.
      *
-     * @param node The vertex whose representative is to be found.
-     * @return The root (representative) node of the given vertex.
+     * @param node The vertex id whose representative is to be found.
+     * @return The root (representative) id of the given vertex.
      */
-    private String find(String node) {
+    private int find(int node) {
         // Increment operation counter for performance analysis.
-        result.operationsCount++;
-        if (!parent.get(node).equals(node)) {
-            parent.put(node, find(parent.get(node)));
-        }
-        return parent.get(node);
+        metrics.finds++;
+        return sets.find(node);
     }
 
     /**
-     * Unites two disjoint sets (represented by their root nodes).
+     * Unites two disjoint sets (represented by their root nodes) using union by rank.
      * This effectively connects two components into one.
      *
      * @param a The first node to unite.
      * @param b The second node to unite.
      */
-    private void union(String a, String b) {
+    private void union(int a, int b) {
         // Increment operation counter for performance analysis.
-        result.operationsCount++;
-        parent.put(find(a), find(b));
+        metrics.unions++;
+        sets.union(a, b);
     }
-}
\ No newline at end of file
+}
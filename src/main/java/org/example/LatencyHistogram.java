@@ -0,0 +1,52 @@
+package org.example;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.DoubleAdder;
+
+/**
+ * Thread-safe latency histogram with fixed millisecond buckets.
+ * Unlike {@link LatencyStats}, which keeps every sample of one benchmark run, it only keeps
+ * bucket counts, so it can record an unbounded stream of requests in constant memory.
+ * It is written in the Prometheus text format (cumulative "le" buckets, _sum and _count).
+ */
+public class LatencyHistogram {
+    /** Upper bounds of the buckets in milliseconds; a final +Inf bucket catches the rest */
+    private static final double[] BOUNDS_MS = {
+            0.1, 0.25, 0.5, 1, 2.5, 5, 10, 25, 50, 100, 250, 500, 1000, 2500, 5000, 10000
+    };
+
+    private final AtomicLongArray counts = new AtomicLongArray(BOUNDS_MS.length + 1);
+    private final DoubleAdder sumMs = new DoubleAdder();
+
+    /**
+     * Records one sample.
+     * @param ms the latency in milliseconds
+     */
+    public void record(double ms) {
+        int bucket = 0;
+        while (bucket < BOUNDS_MS.length && ms > BOUNDS_MS[bucket]) bucket++;
+        counts.incrementAndGet(bucket);
+        sumMs.add(ms);
+    }
+
+    /**
+     * Appends the histogram in the Prometheus text format.
+     *
+     * @param out    the output
+     * @param name   metric name (without the _bucket/_sum/_count suffix)
+     * @param labels extra labels such as {@code algorithm="prim"}, or an empty string
+     */
+    public void writeTo(StringBuilder out, String name, String labels) {
+        String prefix = labels.isEmpty() ? "" : labels + ",";
+        long cumulative = 0;
+        for (int i = 0; i <= BOUNDS_MS.length; i++) {
+            cumulative += counts.get(i);
+            String le = i < BOUNDS_MS.length ? Double.toString(BOUNDS_MS[i]) : "+Inf";
+            out.append(name).append("_bucket{").append(prefix).append("le=\"").append(le).append("\"} ")
+                    .append(cumulative).append('\n');
+        }
+        String suffix = labels.isEmpty() ? "" : "{" + labels + "}";
+        out.append(name).append("_sum").append(suffix).append(' ').append(sumMs.sum()).append('\n');
+        out.append(name).append("_count").append(suffix).append(' ').append(cumulative).append('\n');
+    }
+}
@@ -0,0 +1,63 @@
+package org.example;
+
+import java.util.Arrays;
+
+/**
+ * Distribution of the execution times of repeated runs of one algorithm.
+ * Percentiles use the nearest-rank method on the measured samples; warm-up runs are not included.
+ */
+public class LatencyStats {
+    /** Number of warm-up runs that were discarded */
+    public int warmup;
+    /** Number of measured runs */
+    public int samples;
+    public double minMs;
+    public double medianMs;
+    public double p90Ms;
+    public double p99Ms;
+    public double maxMs;
+    public double meanMs;
+    /** Population standard deviation of the samples */
+    public double stddevMs;
+
+    /**
+     * Computes the statistics of a set of samples.
+     *
+     * @param warmup number of discarded warm-up runs
+     * @param times  measured execution times in milliseconds (sorted in place)
+     * @return the statistics
+     */
+    public static LatencyStats of(int warmup, double[] times) {
+        LatencyStats s = new LatencyStats();
+        s.warmup = warmup;
+        s.samples = times.length;
+        if (times.length == 0) return s;
+        Arrays.sort(times);
+        s.minMs = times[0];
+        s.medianMs = percentile(times, 50);
+        s.p90Ms = percentile(times, 90);
+        s.p99Ms = percentile(times, 99);
+        s.maxMs = times[times.length - 1];
+        double sum = 0;
+        for (double t : times) sum += t;
+        s.meanMs = sum / times.length;
+        double squares = 0;
+        for (double t : times) squares += (t - s.meanMs) * (t - s.meanMs);
+        s.stddevMs = Math.sqrt(squares / times.length);
+        return s;
+    }
+
+    /**
+     * Nearest-rank percentile of sorted samples.
+     */
+    private static double percentile(double[] sorted, int p) {
+        int rank = (int) Math.ceil(p / 100.0 * sorted.length);
+        return sorted[Math.max(rank, 1) - 1];
+    }
+
+    @Override
+    public String toString() {
+        return String.format("min %.3f, median %.3f, p90 %.3f, p99 %.3f, max %.3f, stddev %.3f ms (n=%d)",
+                minMs, medianMs, p90Ms, p99Ms, maxMs, stddevMs, samples);
+    }
+}
@@ -0,0 +1,248 @@
+package org.example;
+
+import java.util.Arrays;
+
+/**
+ * Link-cut tree (Sleator–Tarjan) over a growable pool of int nodes.
+ *
+ * Maintains a forest under link and cut and answers path-maximum and connectivity queries,
+ * all in O(log n) amortized time. Every node carries a long value; {@link #pathMax(int, int)}
+ * returns the node with the largest value on a tree path. To put weights on edges, callers
+ * represent every tree edge by its own node placed between the two endpoints.
+ *
+ * The preferred paths are kept in splay trees stored in primitive arrays (-1 means "none");
+ * reversal flags are pushed down lazily, so any node can become the root of its tree.
+ */
+public class LinkCutTree {
+    private int[] left;
+    private int[] right;
+    /** Splay parent, or path-parent for the root of a splay tree */
+    private int[] parent;
+    private boolean[] reversed;
+    private long[] value;
+    /** Node with the largest value in the splay subtree */
+    private int[] best;
+    private int size;
+    /** Recycled node ids */
+    private int[] free = new int[16];
+    private int freeCount;
+    /** Scratch stack for pushing reversal flags down before a splay */
+    private int[] stack = new int[16];
+
+    /**
+     * Creates an empty forest.
+     * @param capacity initial number of nodes
+     */
+    public LinkCutTree(int capacity) {
+        int n = Math.max(capacity, 16);
+        left = new int[n];
+        right = new int[n];
+        parent = new int[n];
+        reversed = new boolean[n];
+        value = new long[n];
+        best = new int[n];
+    }
+
+    /**
+     * Adds a single-node tree.
+     * @param nodeValue the value of the node
+     * @return the node id
+     */
+    public int addNode(long nodeValue) {
+        int x;
+        if (freeCount > 0) {
+            x = free[--freeCount];
+        } else {
+            if (size == left.length) grow();
+            x = size++;
+        }
+        left[x] = right[x] = parent[x] = -1;
+        reversed[x] = false;
+        value[x] = nodeValue;
+        best[x] = x;
+        return x;
+    }
+
+    /**
+     * Releases an isolated node (it must have been cut from all neighbors) for reuse.
+     * @param x the node
+     */
+    public void removeNode(int x) {
+        if (freeCount == free.length) free = Arrays.copyOf(free, freeCount * 2);
+        free[freeCount++] = x;
+    }
+
+    /**
+     * Returns the value of a node.
+     * @param x the node
+     * @return its value
+     */
+    public long getValue(int x) {
+        return value[x];
+    }
+
+    /**
+     * Changes the value of a node.
+     * @param x         the node
+     * @param nodeValue the new value
+     */
+    public void setValue(int x, long nodeValue) {
+        access(x);
+        value[x] = nodeValue;
+        update(x);
+    }
+
+    /**
+     * Joins two trees by an edge between x and y (x and y must not be connected).
+     * @param x a node
+     * @param y a node of another tree
+     */
+    public void link(int x, int y) {
+        makeRoot(x);
+        parent[x] = y;
+    }
+
+    /**
+     * Removes the edge between x and y (they must be adjacent).
+     * @param x a node
+     * @param y a neighbor of x
+     */
+    public void cut(int x, int y) {
+        makeRoot(x);
+        access(y);
+        // Now x is the only node on y's left: the path is exactly x - y.
+        left[y] = -1;
+        parent[x] = -1;
+        update(y);
+    }
+
+    /**
+     * Returns true if x and y are in the same tree.
+     * @param x a node
+     * @param y a node
+     * @return whether they are connected
+     */
+    public boolean connected(int x, int y) {
+        return x == y || findRoot(x) == findRoot(y);
+    }
+
+    /**
+     * Returns the node with the largest value on the path between x and y (they must be connected).
+     * @param x a node
+     * @param y a node
+     * @return the node with the maximum value
+     */
+    public int pathMax(int x, int y) {
+        makeRoot(x);
+        access(y);
+        return best[y];
+    }
+
+    private int findRoot(int x) {
+        access(x);
+        // The root is the leftmost node of the preferred path.
+        int r = x;
+        pushDown(r);
+        while (left[r] != -1) {
+            r = left[r];
+            pushDown(r);
+        }
+        splay(r);
+        return r;
+    }
+
+    private void makeRoot(int x) {
+        access(x);
+        reversed[x] ^= true;
+    }
+
+    /**
+     * Makes the path from the root to x preferred and splays x to the root of its splay tree.
+     */
+    private void access(int x) {
+        int last = -1;
+        for (int y = x; y != -1; y = parent[y]) {
+            splay(y);
+            right[y] = last;
+            update(y);
+            last = y;
+        }
+        splay(x);
+    }
+
+    private boolean isSplayRoot(int x) {
+        int p = parent[x];
+        return p == -1 || (left[p] != x && right[p] != x);
+    }
+
+    private void splay(int x) {
+        // Push pending reversals down from the splay root to x first.
+        int depth = 0;
+        for (int y = x; ; y = parent[y]) {
+            if (depth == stack.length) stack = Arrays.copyOf(stack, depth * 2);
+            stack[depth++] = y;
+            if (isSplayRoot(y)) break;
+        }
+        while (depth > 0) pushDown(stack[--depth]);
+
+        while (!isSplayRoot(x)) {
+            int p = parent[x];
+            if (!isSplayRoot(p)) {
+                int g = parent[p];
+                // Zig-zig rotates the parent first, zig-zag rotates x twice.
+                boolean sameSide = (left[g] == p) == (left[p] == x);
+                rotate(sameSide ? p : x);
+            }
+            rotate(x);
+        }
+    }
+
+    private void rotate(int x) {
+        int p = parent[x];
+        int g = parent[p];
+        if (!isSplayRoot(p)) {
+            if (left[g] == p) left[g] = x;
+            else right[g] = x;
+        }
+        parent[x] = g;
+        if (left[p] == x) {
+            left[p] = right[x];
+            if (right[x] != -1) parent[right[x]] = p;
+            right[x] = p;
+        } else {
+            right[p] = left[x];
+            if (left[x] != -1) parent[left[x]] = p;
+            left[x] = p;
+        }
+        parent[p] = x;
+        update(p);
+        update(x);
+    }
+
+    private void pushDown(int x) {
+        if (!reversed[x]) return;
+        int l = left[x];
+        left[x] = right[x];
+        right[x] = l;
+        if (left[x] != -1) reversed[left[x]] ^= true;
+        if (right[x] != -1) reversed[right[x]] ^= true;
+        reversed[x] = false;
+    }
+
+    private void update(int x) {
+        int b = x;
+        if (left[x] != -1 && value[best[left[x]]] > value[b]) b = best[left[x]];
+        if (right[x] != -1 && value[best[right[x]]] > value[b]) b = best[right[x]];
+        best[x] = b;
+    }
+
+    private void grow() {
+        int n = left.length * 2;
+        left = Arrays.copyOf(left, n);
+        right = Arrays.copyOf(right, n);
+        parent = Arrays.copyOf(parent, n);
+        reversed = Arrays.copyOf(reversed, n);
+        value = Arrays.copyOf(value, n);
+        best = Arrays.copyOf(best, n);
+    }
+}
@@ -0,0 +1,84 @@
+package org.example;
+
+/**
+ * Open-addressing hash set of non-negative primitive long keys.
+ * Used for packed edge keys so lookups need no boxing and no per-entry objects.
+ */
+public class LongHashSet {
+    /** Marker for an empty slot; valid keys are never negative */
+    private static final long EMPTY = -1L;
+
+    private long[] table;
+    private int size;
+    private int mask;
+
+    /**
+     * Creates a set sized for the expected number of keys.
+     * @param expected expected number of keys
+     */
+    public LongHashSet(int expected) {
+        int capacity = Integer.highestOneBit(Math.max(4, expected) * 2 - 1) << 1;
+        table = new long[capacity];
+        java.util.Arrays.fill(table, EMPTY);
+        mask = capacity - 1;
+    }
+
+    /**
+     * Adds a key to the set.
+     * @param key a non-negative key
+     * @return true if the key was not present before
+     */
+    public boolean add(long key) {
+        if (key < 0) throw new IllegalArgumentException("Negative key: " + key);
+        if ((size + 1) * 2 > table.length) rehash();
+        int i = slot(key);
+        while (table[i] != EMPTY) {
+            if (table[i] == key) return false;
+            i = (i + 1) & mask;
+        }
+        table[i] = key;
+        size++;
+        return true;
+    }
+
+    /**
+     * Checks whether a key is present.
+     * @param key the key to look up
+     * @return true if the set contains the key
+     */
+    public boolean contains(long key) {
+        int i = slot(key);
+        while (table[i] != EMPTY) {
+            if (table[i] == key) return true;
+            i = (i + 1) & mask;
+        }
+        return false;
+    }
+
+    /**
+     * Returns the number of keys in the set.
+     * @return set size
+     */
+    public int size() {
+        return size;
+    }
+
+    private int slot(long key) {
+        // Mix the bits (MurmurHash3 finalizer) so packed keys spread over the table.
+        key ^= key >>> 33;
+        key *= 0xff51afd7ed558ccdL;
+        key ^= key >>> 33;
+        return (int) key & mask;
+    }
+
+    private void rehash() {
+        long[] old = table;
+        table = new long[old.length * 2];
+        java.util.Arrays.fill(table, EMPTY);
+        mask = table.length - 1;
+        size = 0;
+        for (long key : old) {
+            if (key != EMPTY) add(key);
+        }
+    }
+}
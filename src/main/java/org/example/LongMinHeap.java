@@ -0,0 +1,129 @@
+package org.example;
+
+import java.util.Arrays;
+
+/**
+ * Growable binary min-heap of primitive long keys.
+ * Used instead of a PriorityQueue of objects so that no boxing or per-entry
+ * allocation happens in the hot loops; callers pack a weight and an id into each key.
+ */
+public class LongMinHeap {
+    private long[] heap;
+    private int size;
+
+    /**
+     * Creates an empty heap.
+     * @param capacity initial capacity
+     */
+    public LongMinHeap(int capacity) {
+        heap = new long[Math.max(capacity, 16)];
+    }
+
+    /**
+     * Creates a heap holding the given keys, arranged by bottom-up heapify in O(n).
+     * The array is used as the heap storage and is modified.
+     * @param keys the initial keys
+     */
+    public LongMinHeap(long[] keys) {
+        heap = keys;
+        size = keys.length;
+        for (int i = (size >>> 1) - 1; i >= 0; i--) {
+            siftDown(i, heap[i]);
+        }
+    }
+
+    /**
+     * Packs a weight and an id into a single key ordered by weight first, then by id.
+     *
+     * @param weight the weight (may be negative)
+     * @param id     a non-negative id
+     * @return the packed key
+     */
+    public static long pack(int weight, int id) {
+        return ((long) weight << 32) | id;
+    }
+
+    /**
+     * Extracts the weight from a packed key.
+     * @param key the packed key
+     * @return the weight
+     */
+    public static int weightOf(long key) {
+        return (int) (key >> 32);
+    }
+
+    /**
+     * Extracts the id from a packed key.
+     * @param key the packed key
+     * @return the id
+     */
+    public static int idOf(long key) {
+        return (int) key;
+    }
+
+    /**
+     * Returns true if the heap contains no keys.
+     * @return true if empty
+     */
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * Returns the number of keys in the heap.
+     * @return heap size
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Removes all keys, keeping the storage for reuse.
+     */
+    public void clear() {
+        size = 0;
+    }
+
+    /**
+     * Inserts a key.
+     * @param key the key to add
+     */
+    public void add(long key) {
+        if (size == heap.length) {
+            heap = Arrays.copyOf(heap, Math.max(16, size * 2));
+        }
+        // Sift the new key up until its parent is not larger.
+        int i = size++;
+        while (i > 0) {
+            int parent = (i - 1) >>> 1;
+            if (heap[parent] <= key) break;
+            heap[i] = heap[parent];
+            i = parent;
+        }
+        heap[i] = key;
+    }
+
+    /**
+     * Removes and returns the smallest key.
+     * @return the smallest key
+     */
+    public long poll() {
+        long min = heap[0];
+        long last = heap[--size];
+        // Sift the last key down from the root.
+        if (size > 0) siftDown(0, last);
+        return min;
+    }
+
+    private void siftDown(int i, long key) {
+        int half = size >>> 1;
+        while (i < half) {
+            int child = 2 * i + 1;
+            if (child + 1 < size && heap[child + 1] < heap[child]) child++;
+            if (key <= heap[child]) break;
+            heap[i] = heap[child];
+            i = child;
+        }
+        heap[i] = key;
+    }
+}
@@ -3,12 +3,20 @@ package org.example;
 import com.google.gson.*;
 import java.nio.file.*;
 import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.function.ToDoubleFunction;
 import java.io.*;
 
 /**
  * The MSTComparison class compares the performance and results of
- * Prim’s and Kruskal’s algorithms on multiple graph datasets.
- * It reads graph data from a JSON file, executes both algorithms,
+ * Prim’s (lazy and eager), Kruskal’s, parallel Filter-Kruskal and parallel Borůvka
+ * algorithms, plus the component-parallel spanning forest, on multiple graph datasets.
+ * It streams graph data from a JSON file, executes the algorithms,
  * and outputs results in JSON format along with a console summary.
  */
 public class MSTComparison {
@@ -22,34 +30,56 @@ public class MSTComparison {
         String graph_type;
         Map<String, Integer> input_stats;
         PrimAlgorithm.Result prim;
+        PrimAlgorithm.Result prim_eager;
+        PrimAlgorithm.Result prim_auto;
         KruskalAlgorithm.Result kruskal;
-    }
-
-    /**
-     * Wrapper class used for serializing all graph results into JSON format.
-     */
-    static class Output {
-        List<GraphResult> results;
+        FilterKruskalAlgorithm.Result filter_kruskal;
+        BoruvkaAlgorithm.Result boruvka;
+        SpanningForestAlgorithm.Result forest;
+        ExternalKruskalAlgorithm.Result external_kruskal;
+        DistributedKruskalAlgorithm.Result distributed_kruskal;
+        /** Execution time distribution per algorithm (benchmark mode only) */
+        Map<String, LatencyStats> timings;
+        /** Algorithms whose results came from the result cache (null if none) */
+        List<String> cache_hits;
     }
 
     /**
      * Entry point of the application.
-     * Reads input data, filters graphs by type, runs both MST algorithms,
-     * and writes results to a JSON file while printing a summary.
+     * Streams input data, filters graphs by type, runs the MST algorithms for several graphs
+     * concurrently, and streams results (in input order) to a JSON file while printing a summary.
      */
     public static void main(String[] args) throws Exception {
-        // Initialize Gson for JSON parsing and pretty printing.
-        Gson gson = new GsonBuilder().setPrettyPrinting().create();
+        // Initialize Gson for serializing the results (hand-written adapters for graphs and edges).
+        Gson gson = GraphTypeAdapters.create();
 
-        // Read the input graph data from the 'ass_3_input.json' file.
-        String json = Files.readString(Paths.get("ass_3_input.json"));
-        var input = gson.fromJson(json, InputGraphs.class);
+        // Parse the command-line options (graph type filter and concurrency settings).
+        RunOptions options;
+        try {
+            options = RunOptions.parse(args);
+        } catch (IllegalArgumentException e) {
+            System.out.println(e.getMessage());
+            return;
+        }
+
+        // Service mode: keep the JVM warm and answer MST requests over HTTP until stopped.
+        if (options.isServe()) {
+            MSTServer server = new MSTServer(options);
+            Runtime.getRuntime().addShutdownHook(new Thread(server::close));
+            server.start();
+            System.out.println("MST service listening on port " + server.getPort()
+                    + " (POST /mst, GET /metrics)");
+            return;
+        }
+
+        // The thread MXBean measures neither CPU time nor allocations of virtual threads.
+        if (options.isVirtualThreads()) {
+            System.out.println("Note: --virtual-threads reports CPU time and allocated bytes as -1");
+        }
 
         // Determine which graph type(s) to process: small, medium, large, or all.
-        String filterType = "all";
-        if (args.length > 0) {
-            filterType = args[0].toLowerCase();
-        } else {
+        String filterType = options.getFilterType();
+        if (filterType == null) {
             Scanner scanner = new Scanner(System.in);
             System.out.print("Select graph type to process (small, medium, large, all): ");
             filterType = scanner.nextLine().trim().toLowerCase();
@@ -69,87 +99,411 @@ public class MSTComparison {
                 return;
         }
 
-        // Prepare a list to store MST results for each processed graph.
-        List<GraphResult> results = new ArrayList<>();
+        // Result cache keyed by graph content; bypassed with --no-cache and in benchmark mode,
+        // where the algorithms must actually run. Results only go to disk with --cache-dir.
+        ResultCache cache = options.isCache() && !options.isBenchmark()
+                ? new ResultCache(gson, options.getCacheSize(),
+                        options.getCacheDir() == null ? null : Paths.get(options.getCacheDir()))
+                : null;
 
-        for (GraphData g : input.graphs) {
-            if (!filterType.equals("all") && !g.getType().trim().equalsIgnoreCase(filterType)) {
-                continue;
-            }
-            // Create a container to hold results (Prim and Kruskal) for this specific graph.
-            GraphResult gr = new GraphResult();
-            gr.graph_id = g.getId();
-            gr.graph_type = g.getType();
-            gr.input_stats = Map.of(
-                    "vertices", g.getNodes().size(),
-                    "edges", g.getEdges().size()
-            );
-            // Run both MST algorithms (Prim’s and Kruskal’s) for this graph to compare performance and results.
-            PrimAlgorithm primAlgo = new PrimAlgorithm(g, g.getNodes(), g.getEdges()); // Compute MST using Prim’s algorithm.
-            gr.prim = primAlgo.getResult();
-
-            KruskalAlgorithm kruskalAlgo = new KruskalAlgorithm(g, g.getNodes(), g.getEdges()); // Compute MST using Kruskal’s algorithm.
-            gr.kruskal = kruskalAlgo.getResult();
-            // Store the computed MST results into the overall results list for JSON export and summary.
-            results.add(gr);
-        }
-
-        // Prepare the output container to store filtered or complete results.
-        Output out = new Output();
-        if (filterType.equals("all")) {
-            out.results = results;
-        } else {
-            List<GraphResult> filteredResults = new ArrayList<>();
-            for (GraphResult r : results) {
-                if (r.graph_type.trim().equalsIgnoreCase(filterType)) {
-                    filteredResults.add(r);
-                }
-            }
-            out.results = filteredResults;
-        }
+        // Pool used by the parallel MST engines.
+        ForkJoinPool pool = new ForkJoinPool(options.getParallelism());
 
-        // --- Output JSON ---
-        // Convert the results into a formatted JSON string and save it to 'results.json'.
-        String outputJson = gson.toJson(out);
-        System.out.println(outputJson);
-        Files.writeString(Paths.get("results.json"), outputJson);
-        System.out.println("\nResults written to results.json");
+        // Summary lines of every processed graph, grouped by graph type (small, medium, large).
+        Map<String, List<List<String>>> summary = new LinkedHashMap<>();
+
+        // Stream the graphs from the input file (default 'ass_3_input.json') one at a time;
+        // the file may be JSON or the binary graph format (detected from its header), and
+        // graphs of other types are skipped without being materialized.
+        // The selected graphs run concurrently; each result is written out as soon as all
+        // earlier graphs are done, so the output keeps the input order.
+        try (GraphSource selected = GraphSource.open(Paths.get(options.getInput()), filterType);
+             ResultWriter writer = ResultWriter.open(gson, options);
+             BatchExecutor batch = new BatchExecutor(options.getThreads(), options.isVirtualThreads(),
+                     options.getMaxInFlight())) {
+            batch.run(selected, (g, executor) -> processGraph(g, executor, pool, options, cache), r -> {
+                writer.write(r);
+                summary.computeIfAbsent(r.graph_type, k -> new ArrayList<>()).add(formatSummary(r));
+            });
+        } finally {
+            pool.shutdown();
+        }
+        System.out.println("\nResults written to " + options.getOutput());
 
         // --- Summary Section ---
         // Print detailed results grouped by graph type, showing cost, edges, operations, and execution time.
         System.out.println("\n=== Summary by Graph Type ===");
-        printSummary(out.results);
+        printSummary(summary);
+        if (cache != null) {
+            System.out.println("Result cache: " + cache.getHits() + " hits, " + cache.getMisses() + " misses"
+                    + (options.getCacheDir() == null ? "" : " (stored in " + options.getCacheDir() + ")"));
+        }
     }
 
     /**
-     * Prints a summary of MST results for each graph type.
-     * Groups results by graph type and displays key metrics for both algorithms.
+     * Starts all MST algorithms for one graph on the given executor.
+     * The graph's edge source and its cache key are resolved first (for a JSON graph this builds the
+     * compact form, so no algorithm is charged for it); afterwards Prim’s and Kruskal’s variants run
+     * concurrently.
+     * In benchmark mode (--warmup / --repeat) the algorithms run one after another instead,
+     * so the repetitions of one algorithm are not disturbed by the others.
      *
-     * @param results List of computed graph results to summarize.
+     * @param g        The graph to process.
+     * @param executor Executor for the per-algorithm tasks.
+     * @param pool     Pool used by the parallel engines.
+     * @param options  The run options (external-memory Kruskal and benchmark settings).
+     * @param cache    Cache that serves results of graphs seen before, or null to always compute.
+     * @return a future completing with the results of all algorithms
      */
-    private static void printSummary(List<GraphResult> results) {
-        // Group results by graph type (small, medium, large).
-        Map<String, List<GraphResult>> grouped = new LinkedHashMap<>();
+    static CompletableFuture<GraphResult> processGraph(GraphData g, Executor executor, ForkJoinPool pool,
+                                                       RunOptions options, ResultCache cache) {
+        // Create a container to hold results (Prim and Kruskal) for this specific graph.
+        GraphResult gr = new GraphResult();
+        gr.graph_id = g.getId();
+        gr.graph_type = g.getType();
+        gr.input_stats = Map.of(
+                "vertices", g.getNodes().size(),
+                "edges", g.getEdges().size()
+        );
+
+        // Every algorithm as a function of the edge list it runs on.
+        Function<List<Edge>, PrimAlgorithm.Result> prim = edges ->
+                new PrimAlgorithm(g, g.getNodes(), edges).getResult();
+        Function<List<Edge>, PrimAlgorithm.Result> primEager = edges -> primEager(g, g.getNodes(), edges);
+        Function<List<Edge>, PrimAlgorithm.Result> primAuto = edges -> primAuto(g, g.getNodes(), edges);
+        Function<List<Edge>, KruskalAlgorithm.Result> kruskal = edges ->
+                new KruskalAlgorithm(g, g.getNodes(), edges).getResult();
+        // Parallel Filter-Kruskal and Borůvka on the shared pool; they must match the sequential Kruskal result.
+        Function<List<Edge>, FilterKruskalAlgorithm.Result> filterKruskal = edges ->
+                new FilterKruskalAlgorithm(g, g.getNodes(), edges, pool).getResult();
+        Function<List<Edge>, BoruvkaAlgorithm.Result> boruvka = edges ->
+                new BoruvkaAlgorithm(g, g.getNodes(), edges, pool).getResult();
+        // Spanning forest with one Prim tree per connected component, components grown in parallel.
+        Function<List<Edge>, SpanningForestAlgorithm.Result> forest = edges -> new SpanningForestAlgorithm(g,
+                g.getNodes(), edges, pool, SpanningForestAlgorithm.DEFAULT_BATCH_SIZE).getResult();
+        // Optional out-of-core Kruskal over sorted runs spilled to disk (--external).
+        Function<List<Edge>, ExternalKruskalAlgorithm.Result> external = edges -> {
+            Path tempDir = options.getTempDir() == null ? null : Paths.get(options.getTempDir());
+            try {
+                return new ExternalKruskalAlgorithm(EdgeSource.of(g, g.getNodes(), edges),
+                        options.getExternalChunkSize(), tempDir).getResult();
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        };
+        boolean runExternal = options.getExternalChunkSize() > 0;
+        // Optional multi-process Kruskal over edge partitions in worker JVMs (--workers).
+        Function<List<Edge>, DistributedKruskalAlgorithm.Result> distributed = edges -> {
+            try {
+                return new DistributedKruskalAlgorithm(EdgeSource.of(g, g.getNodes(), edges),
+                        options.getWorkers(), List.of()).getResult();
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        };
+        boolean runDistributed = options.getWorkers() > 0;
+
+        // Resolve the edge source once before the algorithms start: for a JSON graph this builds the
+        // shared compact form, a graph mapped from a binary file is read in place. With a cache, the
+        // content hash of these edges is the cache key of this graph (null without a cache).
+        CompletableFuture<String> hash = CompletableFuture.supplyAsync(() -> {
+            EdgeSource source = g.getEdgeSource();
+            return cache == null ? null : ResultCache.hash(source);
+        }, executor);
 
-        for (GraphResult r : results) {
-            grouped.computeIfAbsent(r.graph_type, k -> new ArrayList<>()).add(r);
+        if (options.isBenchmark()) {
+            return hash.thenApplyAsync(v -> {
+                gr.timings = new LinkedHashMap<>();
+                gr.prim = measure(g, options, gr.timings, "prim", prim, r -> r.executionTimeMs);
+                gr.prim_eager = measure(g, options, gr.timings, "prim_eager", primEager, r -> r.executionTimeMs);
+                gr.prim_auto = measure(g, options, gr.timings, "prim_auto", primAuto, r -> r.executionTimeMs);
+                gr.kruskal = measure(g, options, gr.timings, "kruskal", kruskal, r -> r.executionTimeMs);
+                gr.filter_kruskal = measure(g, options, gr.timings, "filter_kruskal", filterKruskal,
+                        r -> r.executionTimeMs);
+                gr.boruvka = measure(g, options, gr.timings, "boruvka", boruvka, r -> r.executionTimeMs);
+                gr.forest = measure(g, options, gr.timings, "forest", forest, r -> r.executionTimeMs);
+                if (runExternal) {
+                    gr.external_kruskal = measure(g, options, gr.timings, "external_kruskal", external,
+                            r -> r.executionTimeMs);
+                }
+                if (runDistributed) {
+                    gr.distributed_kruskal = measure(g, options, gr.timings, "distributed_kruskal", distributed,
+                            r -> r.executionTimeMs);
+                }
+                return gr;
+            }, executor);
         }
 
+        // Run the MST algorithms for this graph concurrently to compare performance and results.
+        // Results of a graph with the same content are served from the cache instead. Engine options
+        // that show up in a result are part of its cache key.
+        Set<String> hits = ConcurrentHashMap.newKeySet();
+        String parallel = "-p" + pool.getParallelism();
+        var primResult = hash.thenApplyAsync(key ->
+                cached(cache, key, hits, "prim", PrimAlgorithm.Result.class, () -> prim.apply(g.getEdges())),
+                executor);
+        var primEagerResult = hash.thenApplyAsync(key ->
+                cached(cache, key, hits, "prim_eager", PrimAlgorithm.Result.class,
+                        () -> primEager.apply(g.getEdges())), executor);
+        var primAutoResult = hash.thenApplyAsync(key ->
+                cached(cache, key, hits, "prim_auto", PrimAlgorithm.Result.class,
+                        () -> primAuto.apply(g.getEdges())), executor);
+        var kruskalResult = hash.thenApplyAsync(key ->
+                cached(cache, key, hits, "kruskal", KruskalAlgorithm.Result.class,
+                        () -> kruskal.apply(g.getEdges())), executor);
+        var filterKruskalResult = hash.thenApplyAsync(key ->
+                cached(cache, key, hits, "filter_kruskal" + parallel, FilterKruskalAlgorithm.Result.class,
+                        () -> filterKruskal.apply(g.getEdges())), executor);
+        var boruvkaResult = hash.thenApplyAsync(key ->
+                cached(cache, key, hits, "boruvka" + parallel, BoruvkaAlgorithm.Result.class,
+                        () -> boruvka.apply(g.getEdges())), executor);
+        var forestResult = hash.thenApplyAsync(key ->
+                cached(cache, key, hits, "forest" + parallel + "-b" + SpanningForestAlgorithm.DEFAULT_BATCH_SIZE,
+                        SpanningForestAlgorithm.Result.class,
+                        () -> forest.apply(g.getEdges())), executor);
+        // The chunk size changes the reported runs, so it is part of the cache key.
+        var externalResult = runExternal
+                ? hash.thenApplyAsync(key ->
+                        cached(cache, key, hits, "external_kruskal-" + options.getExternalChunkSize(),
+                                ExternalKruskalAlgorithm.Result.class, () -> external.apply(g.getEdges())), executor)
+                : CompletableFuture.<ExternalKruskalAlgorithm.Result>completedFuture(null);
+        // Likewise the worker count changes the reported partitions.
+        var distributedResult = runDistributed
+                ? hash.thenApplyAsync(key ->
+                        cached(cache, key, hits, "distributed_kruskal-" + options.getWorkers(),
+                                DistributedKruskalAlgorithm.Result.class, () -> distributed.apply(g.getEdges())),
+                        executor)
+                : CompletableFuture.<DistributedKruskalAlgorithm.Result>completedFuture(null);
+
+        return CompletableFuture.allOf(primResult, primEagerResult, primAutoResult, kruskalResult, filterKruskalResult,
+                boruvkaResult, forestResult, externalResult, distributedResult).thenApply(v -> {
+            gr.prim = primResult.join();
+            gr.prim_eager = primEagerResult.join();
+            gr.prim_auto = primAutoResult.join();
+            gr.kruskal = kruskalResult.join();
+            gr.filter_kruskal = filterKruskalResult.join();
+            gr.boruvka = boruvkaResult.join();
+            gr.forest = forestResult.join();
+            gr.external_kruskal = externalResult.join();
+            gr.distributed_kruskal = distributedResult.join();
+            if (!hits.isEmpty()) {
+                gr.cache_hits = new ArrayList<>(new TreeSet<>(hits));
+            }
+            return gr;
+        });
+    }
+
+    /**
+     * Runs eager Prim with an indexed {@link PrimAlgorithm#DEFAULT_ARITY}-ary heap, whatever the density
+     * (the "prim_eager" result).
+     *
+     * @param g     The graph.
+     * @param nodes The list of all vertices in the graph.
+     * @param edges The list of all edges with their weights.
+     * @return the result
+     */
+    static PrimAlgorithm.Result primEager(GraphData g, List<String> nodes, List<Edge> edges) {
+        return new PrimAlgorithm(g, nodes, edges, PrimAlgorithm.Mode.EAGER, PrimAlgorithm.DEFAULT_ARITY)
+                .getResult();
+    }
+
+    /**
+     * Runs Prim with the variant chosen from the density: the heap-free dense scan on near-complete
+     * graphs, eager Prim otherwise (the "prim_auto" result).
+     *
+     * @param g     The graph.
+     * @param nodes The list of all vertices in the graph.
+     * @param edges The list of all edges with their weights.
+     * @return the result
+     */
+    static PrimAlgorithm.Result primAuto(GraphData g, List<String> nodes, List<Edge> edges) {
+        return new PrimAlgorithm(g, nodes, edges, PrimAlgorithm.Mode.AUTO, PrimAlgorithm.DEFAULT_ARITY,
+                PrimAlgorithm.DEFAULT_DENSE_THRESHOLD).getResult();
+    }
+
+    /**
+     * Returns the cached result of an algorithm, or runs it and caches the result.
+     * A result served from the cache is marked with {@code cached = true}.
+     *
+     * @param cache     The cache, or null to always run the algorithm.
+     * @param hash      Content hash of the graph.
+     * @param hits      Collects the names of the algorithms served from the cache.
+     * @param name      The algorithm's cache key (name plus result-relevant options).
+     * @param type      The result class.
+     * @param algorithm Runs the algorithm.
+     * @return the result
+     */
+    private static <R> R cached(ResultCache cache, String hash, Set<String> hits, String name, Class<R> type,
+                                Supplier<R> algorithm) {
+        if (cache == null) return algorithm.get();
+        return cache.get(hash, name, type, algorithm, r -> {
+            hits.add(name);
+            markCached(r);
+        });
+    }
+
+    /**
+     * Marks a result as served from the cache, so its timings are not mistaken for a fresh run.
+     *
+     * @param result The result.
+     */
+    private static void markCached(Object result) {
+        switch (result) {
+            case PrimAlgorithm.Result r -> r.cached = true;
+            case KruskalAlgorithm.Result r -> r.cached = true;
+            case BoruvkaAlgorithm.Result r -> r.cached = true;
+            case SpanningForestAlgorithm.Result r -> r.cached = true;
+            default -> throw new IllegalArgumentException("Unknown result type: " + result.getClass());
+        }
+    }
+
+    /**
+     * Runs one algorithm for the configured warm-up and measured repetitions.
+     * Every repetition gets a fresh copy of the edge list, so it builds its own compact form and
+     * nothing prepared by an earlier repetition (sorted arrays, cached adjacency) is reused.
+     *
+     * @param g         The graph.
+     * @param options   The run options (warm-up and repetition counts).
+     * @param timings   Map receiving the timing statistics under the algorithm's name.
+     * @param name      The algorithm's name.
+     * @param algorithm Runs the algorithm on an edge list.
+     * @param timeMs    Extracts the execution time from a result.
+     * @return the result of the last measured repetition
+     */
+    private static <R> R measure(GraphData g, RunOptions options, Map<String, LatencyStats> timings, String name,
+                                 Function<List<Edge>, R> algorithm, ToDoubleFunction<R> timeMs) {
+        for (int i = 0; i < options.getWarmup(); i++) {
+            algorithm.apply(new ArrayList<>(g.getEdges()));
+        }
+        double[] times = new double[options.getRepeat()];
+        R last = null;
+        for (int i = 0; i < times.length; i++) {
+            last = algorithm.apply(new ArrayList<>(g.getEdges()));
+            times[i] = timeMs.applyAsDouble(last);
+        }
+        timings.put(name, LatencyStats.of(options.getWarmup(), times));
+        return last;
+    }
+
+    /**
+     * Formats the summary lines of one graph result.
+     * Only these short lines are kept until the end of the run, not the full results.
+     *
+     * @param r The computed graph result.
+     * @return the lines describing every algorithm's outcome
+     */
+    static List<String> formatSummary(GraphResult r) {
+        List<String> lines = new ArrayList<>();
+        lines.add("Graph ID " + r.graph_id);
+        lines.add("Kruskal → Total Cost: " + r.kruskal.totalCost +
+                ", Edges: " + r.kruskal.mstEdges.size() +
+                ", Ops: " + r.kruskal.operationsCount +
+                ", Validation: " + r.kruskal.validationCount +
+                ", Time: " + r.kruskal.executionTimeMs + " ms" +
+                ", CPU: " + r.kruskal.cpuTimeMs + " ms");
+
+        lines.add("Filter-K → Total Cost: " + r.filter_kruskal.totalCost +
+                ", Edges: " + r.filter_kruskal.mstEdges.size() +
+                ", Ops: " + r.filter_kruskal.operationsCount +
+                ", Threads: " + r.filter_kruskal.parallelism +
+                ", Time: " + r.filter_kruskal.executionTimeMs + " ms" +
+                ", CPU: " + r.filter_kruskal.cpuTimeMs + " ms");
+
+        if (r.external_kruskal != null) {
+            lines.add("External → Total Cost: " + r.external_kruskal.totalCost +
+                    ", Edges: " + r.external_kruskal.mstEdges.size() +
+                    ", Ops: " + r.external_kruskal.operationsCount +
+                    ", Runs: " + r.external_kruskal.runs +
+                    ", Spilled: " + r.external_kruskal.spilledBytes + " B" +
+                    ", Time: " + r.external_kruskal.executionTimeMs + " ms" +
+                    ", CPU: " + r.external_kruskal.cpuTimeMs + " ms");
+        }
+
+        if (r.distributed_kruskal != null) {
+            long sent = 0;
+            long received = 0;
+            for (DistributedKruskalAlgorithm.Worker w : r.distributed_kruskal.partitions) {
+                sent += w.bytesSent;
+                received += w.bytesReceived;
+            }
+            lines.add("Distrib → Total Cost: " + r.distributed_kruskal.totalCost +
+                    ", Edges: " + r.distributed_kruskal.mstEdges.size() +
+                    ", Workers: " + r.distributed_kruskal.workers +
+                    ", Sent: " + sent + " B" +
+                    ", Received: " + received + " B" +
+                    ", Time: " + r.distributed_kruskal.executionTimeMs + " ms" +
+                    ", CPU: " + r.distributed_kruskal.cpuTimeMs + " ms");
+        }
+
+        lines.add("Borůvka → Total Cost: " + r.boruvka.totalCost +
+                ", Edges: " + r.boruvka.mstEdges.size() +
+                ", Ops: " + r.boruvka.operationsCount +
+                ", Rounds: " + r.boruvka.rounds +
+                ", Threads: " + r.boruvka.parallelism +
+                ", Time: " + r.boruvka.executionTimeMs + " ms" +
+                ", CPU: " + r.boruvka.cpuTimeMs + " ms");
+
+        lines.add("Forest  → Total Cost: " + r.forest.totalCost +
+                ", Edges: " + r.forest.mstEdges.size() +
+                ", Ops: " + r.forest.operationsCount +
+                ", Components: " + r.forest.componentCount +
+                ", Batches: " + r.forest.batches +
+                ", Threads: " + r.forest.parallelism +
+                ", Time: " + r.forest.executionTimeMs + " ms" +
+                ", CPU: " + r.forest.cpuTimeMs + " ms");
+
+        lines.add("Prim    → Total Cost: " + r.prim.totalCost +
+                ", Edges: " + r.prim.mstEdges.size() +
+                ", Ops: " + r.prim.operationsCount +
+                ", Validation: " + r.prim.validationCount +
+                ", Heap: " + r.prim.maxHeapSize + " (" + r.prim.strategy + ")" +
+                ", Time: " + r.prim.executionTimeMs + " ms" +
+                ", CPU: " + r.prim.cpuTimeMs + " ms");
+
+        lines.add("Prim(E) → Total Cost: " + r.prim_eager.totalCost +
+                ", Edges: " + r.prim_eager.mstEdges.size() +
+                ", Ops: " + r.prim_eager.operationsCount +
+                ", Validation: " + r.prim_eager.validationCount +
+                ", Heap: " + r.prim_eager.maxHeapSize + " (" + r.prim_eager.strategy + ")" +
+                ", Time: " + r.prim_eager.executionTimeMs + " ms" +
+                ", CPU: " + r.prim_eager.cpuTimeMs + " ms");
+
+        lines.add("Prim(A) → Total Cost: " + r.prim_auto.totalCost +
+                ", Edges: " + r.prim_auto.mstEdges.size() +
+                ", Ops: " + r.prim_auto.operationsCount +
+                ", Validation: " + r.prim_auto.validationCount +
+                ", Heap: " + r.prim_auto.maxHeapSize + " (" + r.prim_auto.strategy + ")" +
+                ", Time: " + r.prim_auto.executionTimeMs + " ms" +
+                ", CPU: " + r.prim_auto.cpuTimeMs + " ms");
+
+        if (r.cache_hits != null) {
+            lines.add("Cache   → hits: " + String.join(", ", r.cache_hits));
+        }
+
+        if (r.timings != null) {
+            // Repeated runs: time distribution of every algorithm.
+            for (var t : r.timings.entrySet()) {
+                lines.add(String.format("  %-16s %s", t.getKey(), t.getValue()));
+            }
+        }
+        return lines;
+    }
+
+    /**
+     * Prints a summary of MST results for each graph type.
+     * Groups results by graph type and displays key metrics for all algorithms.
+     *
+     * @param grouped Summary lines of every graph, grouped by graph type in input order.
+     */
+    private static void printSummary(Map<String, List<List<String>>> grouped) {
         for (var entry : grouped.entrySet()) {
             String type = entry.getKey();
             // Print MST statistics for each graph within the same type group.
             System.out.println("\n" + type.substring(0, 1).toUpperCase() + type.substring(1) + " Graphs:");
-            for (GraphResult r : entry.getValue()) {
-                System.out.println("Graph ID " + r.graph_id);
-                System.out.println("Kruskal → Total Cost: " + r.kruskal.totalCost +
-                        ", Edges: " + r.kruskal.mstEdges.size() +
-                        ", Ops: " + r.kruskal.operationsCount +
-                        ", Time: " + r.kruskal.executionTimeMs + " ms");
-
-                System.out.println("Prim    → Total Cost: " + r.prim.totalCost +
-                        ", Edges: " + r.prim.mstEdges.size() +
-                        ", Ops: " + r.prim.operationsCount +
-                        ", Time: " + r.prim.executionTimeMs + " ms");
+            for (List<String> lines : entry.getValue()) {
+                for (String line : lines) {
+                    System.out.println(line);
+                }
                 System.out.println();
             }
         }
@@ -0,0 +1,71 @@
+package org.example;
+
+import jdk.jfr.*;
+
+/**
+ * Custom JDK Flight Recorder events of the MST algorithms.
+ * Record them with e.g. {@code java -XX:StartFlightRecording=filename=mst.jfr ...}
+ * and inspect them with {@code jfr print --events org.example.* mst.jfr} or JDK Mission Control.
+ */
+public final class MSTEvents {
+
+    private MSTEvents() {
+    }
+
+    /**
+     * One timed phase of an algorithm (the event duration is the phase duration).
+     */
+    @Name("org.example.MSTPhase")
+    @Label("MST Phase")
+    @Category("MST")
+    @StackTrace(false)
+    static class PhaseEvent extends Event {
+        @Label("Algorithm")
+        String algorithm;
+        @Label("Phase")
+        String phase;
+        @Label("Allocated")
+        @DataAmount
+        long allocatedBytes;
+    }
+
+    /**
+     * The operation counters of one finished algorithm run.
+     */
+    @Name("org.example.MSTRun")
+    @Label("MST Run")
+    @Category("MST")
+    @StackTrace(false)
+    static class RunEvent extends Event {
+        @Label("Algorithm")
+        String algorithm;
+        @Label("Strategy")
+        String strategy;
+        @Label("Vertices")
+        int vertices;
+        @Label("Edges")
+        int edges;
+        @Label("Total Cost")
+        long totalCost;
+        @Label("Validations")
+        long validations;
+        @Label("Adjacency Entries")
+        long adjacencyEntries;
+        @Label("Sorted")
+        long sorted;
+        @Label("Finds")
+        long finds;
+        @Label("Unions")
+        long unions;
+        @Label("Heap Pushes")
+        long heapPushes;
+        @Label("Heap Pops")
+        long heapPops;
+        @Label("Decrease Keys")
+        long decreaseKeys;
+        @Label("Stale Skips")
+        long staleSkips;
+        @Label("Scans")
+        long scans;
+    }
+}
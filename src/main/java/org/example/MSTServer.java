@@ -0,0 +1,452 @@
+package org.example;
+
+import com.google.gson.*;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+import com.google.gson.stream.MalformedJsonException;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.*;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Long-running MST service on the JDK's built-in HTTP server.
+ *
+ * The JVM (and the JIT-compiled algorithms) stay warm between requests, so callers see
+ * steady-state latencies instead of paying start-up for every graph.
+ *
+ * Endpoints:
+ * - POST /mst: the body is one graph in the input schema ({"id", "type", "nodes", "edges"}) or
+ *   a batch ({"graphs": [...]}, with "graphs" as its first field). The optional query parameter
+ *   "algorithms" is a comma-separated list of {@link #ALGORITHMS} (default: all but
+ *   external_kruskal). The response is the graph result in the results.json schema, or
+ *   {"results": [...]} in input order for a batch.
+ * - GET /metrics: request, rejection and queue counters plus latency histograms (end to end,
+ *   queue wait and per algorithm) in the Prometheus text format.
+ * - GET /health: "ok".
+ *
+ * Every graph is one task on a fixed pool of worker threads. At most workers + queue size graphs
+ * are admitted at a time; a request that does not fit is rejected as a whole with
+ * 503 Service Unavailable and a Retry-After header, so a burst cannot pile up unbounded work.
+ * Admission also bounds memory: a request takes a slot before its body is read and one more
+ * slot before every further graph of a batch, and graphs are parsed straight from the stream,
+ * so at most workers + queue size graphs are held at once. Bodies above the --max-body limit
+ * are rejected with 413 Payload Too Large, from the Content-Length header when there is one.
+ */
+public class MSTServer implements AutoCloseable {
+
+    /** Algorithms that can be requested, in the order they run */
+    public static final List<String> ALGORITHMS = List.of(
+            "prim", "prim_eager", "prim_auto", "kruskal", "filter_kruskal", "boruvka", "forest", "external_kruskal");
+    /** Algorithms run when none are requested: all except the disk-based external Kruskal */
+    private static final List<String> DEFAULT_ALGORITHMS = ALGORITHMS.subList(0, ALGORITHMS.size() - 1);
+
+    private final HttpServer server;
+    private final ExecutorService workers;
+    private final ExecutorService handlers;
+    private final ForkJoinPool pool;
+    private final RunOptions options;
+    private final Gson gson = GraphTypeAdapters.create();
+    /** Free admission slots: one per graph that is queued or running */
+    private final Semaphore slots;
+    private final int capacity;
+    /** Largest accepted request body in bytes */
+    private final long maxBodyBytes;
+
+    private final LongAdder requests = new LongAdder();
+    private final LongAdder rejected = new LongAdder();
+    private final LongAdder failed = new LongAdder();
+    private final LongAdder graphs = new LongAdder();
+    private final LatencyHistogram requestLatency = new LatencyHistogram();
+    private final LatencyHistogram queueWait = new LatencyHistogram();
+    private final Map<String, LatencyHistogram> algorithmLatency = new LinkedHashMap<>();
+
+    /**
+     * Creates the server and binds its port; call {@link #start()} to accept requests.
+     *
+     * @param options the run options (port, worker threads, queue size, parallelism, external Kruskal)
+     * @throws IOException if the port cannot be bound
+     */
+    public MSTServer(RunOptions options) throws IOException {
+        this.options = options;
+        this.capacity = options.getThreads() + options.getQueueSize();
+        this.slots = new Semaphore(capacity);
+        this.maxBodyBytes = options.getMaxBodyBytes();
+        this.pool = new ForkJoinPool(options.getParallelism());
+        this.workers = Executors.newFixedThreadPool(options.getThreads());
+        // Connection handlers only parse, wait and write. They run on platform threads: the built-in
+        // server reads request bodies in synchronized methods, which pin a virtual thread's carrier
+        // (before JDK 24), so a few slow uploads would stall every other request. Handlers without
+        // a free slot return before reading the body, so the thread count stays close to the capacity.
+        this.handlers = Executors.newCachedThreadPool();
+        for (String name : ALGORITHMS) algorithmLatency.put(name, new LatencyHistogram());
+
+        server = HttpServer.create(new InetSocketAddress(options.getServePort()), 0);
+        server.setExecutor(handlers);
+        server.createContext("/mst", this::handleMst);
+        server.createContext("/metrics", this::handleMetrics);
+        server.createContext("/health", exchange -> {
+            if (!allow(exchange, "GET")) return;
+            send(exchange, 200, "text/plain; charset=utf-8", "ok\n");
+        });
+    }
+
+    /**
+     * Starts accepting requests.
+     */
+    public void start() {
+        server.start();
+    }
+
+    /**
+     * Returns the port the server listens on.
+     * @return the port
+     */
+    public int getPort() {
+        return server.getAddress().getPort();
+    }
+
+    /**
+     * Stops accepting requests, lets running graphs finish for up to one second and shuts down the pools.
+     */
+    @Override
+    public void close() {
+        server.stop(1);
+        workers.shutdown();
+        handlers.shutdown();
+        pool.shutdown();
+    }
+
+    private void handleMst(HttpExchange exchange) throws IOException {
+        if (!allow(exchange, "POST")) return;
+        long start = System.nanoTime();
+        requests.increment();
+        // Admission slots held by this request and not yet handed to a queued graph task.
+        int held = 0;
+        try {
+            // Step 1: Reject before reading the body: too large, or no free slot for even one graph.
+            List<String> algorithms = parseAlgorithms(exchange.getRequestURI());
+            long length = contentLength(exchange);
+            if (length > maxBodyBytes) {
+                sendError(exchange, 413, "Body of " + length + " bytes exceeds the limit of " + maxBodyBytes);
+                return;
+            }
+            if (!slots.tryAcquire()) {
+                reject(exchange);
+                return;
+            }
+            held = 1;
+
+            // Step 2: Parse the graph(s) straight from the stream. Every further graph of a batch needs
+            // its own slot before it is read, so a request never holds more graphs than it may queue.
+            boolean batch;
+            List<GraphData> input = new ArrayList<>();
+            JsonReader in = new JsonReader(new InputStreamReader(
+                    new LimitedInputStream(exchange.getRequestBody(), maxBodyBytes), StandardCharsets.UTF_8));
+            in.beginObject();
+            String first = in.hasNext() ? in.nextName() : null;
+            batch = "graphs".equals(first);
+            if (batch) {
+                if (in.peek() != JsonToken.BEGIN_ARRAY) {
+                    throw new IllegalArgumentException("\"graphs\" must be an array");
+                }
+                in.beginArray();
+                while (in.hasNext()) {
+                    if (input.size() == held) {
+                        if (held == capacity) {
+                            sendError(exchange, 413, "Batch exceeds the capacity of " + capacity + " graphs");
+                            return;
+                        }
+                        if (!slots.tryAcquire()) {
+                            reject(exchange);
+                            return;
+                        }
+                        held++;
+                    }
+                    if (in.peek() == JsonToken.NULL) throw new IllegalArgumentException("null graph");
+                    input.add(checkGraph(GraphTypeAdapters.readGraph(in, type -> true)));
+                }
+                in.endArray();
+                while (in.hasNext()) {
+                    in.nextName();
+                    in.skipValue();
+                }
+                in.endObject();
+            } else {
+                input.add(checkGraph(GraphTypeAdapters.readGraphFields(in, first, type -> true)));
+            }
+            if (in.peek() != JsonToken.END_DOCUMENT) throw new IllegalArgumentException("trailing data after the body");
+            // An empty batch keeps no slot.
+            slots.release(held - input.size());
+            held = input.size();
+
+            // Step 3: Queue one task per graph and wait for all of them.
+            List<Future<MSTComparison.GraphResult>> futures = new ArrayList<>(input.size());
+            for (GraphData g : input) {
+                long queued = System.nanoTime();
+                futures.add(workers.submit(() -> {
+                    try {
+                        queueWait.record((System.nanoTime() - queued) / 1_000_000.0);
+                        return run(g, algorithms);
+                    } finally {
+                        slots.release();
+                    }
+                }));
+                held--;
+            }
+            List<MSTComparison.GraphResult> results = new ArrayList<>(futures.size());
+            for (Future<MSTComparison.GraphResult> f : futures) {
+                results.add(f.get());
+            }
+            graphs.add(results.size());
+
+            // Step 4: Answer in the results.json schema.
+            Object response = batch ? Map.of("results", results) : results.get(0);
+            send(exchange, 200, "application/json", gson.toJson(response));
+        } catch (BodyTooLargeException e) {
+            sendError(exchange, 413, e.getMessage());
+        } catch (MalformedJsonException | EOFException | JsonParseException | IllegalArgumentException
+                 | IllegalStateException e) {
+            sendError(exchange, 400, "Bad request: " + e.getMessage());
+        } catch (ExecutionException e) {
+            failed.increment();
+            sendError(exchange, 500, "Algorithm failed: " + e.getCause());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            sendError(exchange, 503, "Server is shutting down");
+        } catch (RuntimeException e) {
+            // Anything unexpected still gets a status instead of a dropped connection.
+            failed.increment();
+            sendError(exchange, 500, "Internal error: " + e);
+        } finally {
+            slots.release(held);
+            requestLatency.record((System.nanoTime() - start) / 1_000_000.0);
+        }
+    }
+
+    private void reject(HttpExchange exchange) throws IOException {
+        rejected.increment();
+        exchange.getResponseHeaders().set("Retry-After", "1");
+        sendError(exchange, 503, "Queue is full, retry later");
+    }
+
+    /**
+     * Returns the declared body length, or -1 if the body is chunked or has no valid Content-Length.
+     */
+    private static long contentLength(HttpExchange exchange) {
+        String header = exchange.getRequestHeaders().getFirst("Content-Length");
+        if (header == null) return -1;
+        try {
+            return Long.parseLong(header.trim());
+        } catch (NumberFormatException e) {
+            return -1;
+        }
+    }
+
+    /**
+     * Runs the requested algorithms on one graph, one after another on the calling worker.
+     */
+    private MSTComparison.GraphResult run(GraphData g, List<String> algorithms) throws IOException {
+        MSTComparison.GraphResult gr = new MSTComparison.GraphResult();
+        gr.graph_id = g.getId();
+        gr.graph_type = g.getType();
+        gr.input_stats = Map.of(
+                "vertices", g.getNodes().size(),
+                "edges", g.getEdges().size()
+        );
+        List<String> nodes = g.getNodes();
+        List<Edge> edges = g.getEdges();
+        for (String name : algorithms) {
+            double timeMs;
+            switch (name) {
+                case "prim" -> {
+                    gr.prim = new PrimAlgorithm(g, nodes, edges).getResult();
+                    timeMs = gr.prim.executionTimeMs;
+                }
+                case "prim_eager" -> {
+                    gr.prim_eager = MSTComparison.primEager(g, nodes, edges);
+                    timeMs = gr.prim_eager.executionTimeMs;
+                }
+                case "prim_auto" -> {
+                    gr.prim_auto = MSTComparison.primAuto(g, nodes, edges);
+                    timeMs = gr.prim_auto.executionTimeMs;
+                }
+                case "kruskal" -> {
+                    gr.kruskal = new KruskalAlgorithm(g, nodes, edges).getResult();
+                    timeMs = gr.kruskal.executionTimeMs;
+                }
+                case "filter_kruskal" -> {
+                    gr.filter_kruskal = new FilterKruskalAlgorithm(g, nodes, edges, pool).getResult();
+                    timeMs = gr.filter_kruskal.executionTimeMs;
+                }
+                case "boruvka" -> {
+                    gr.boruvka = new BoruvkaAlgorithm(g, nodes, edges, pool).getResult();
+                    timeMs = gr.boruvka.executionTimeMs;
+                }
+                case "forest" -> {
+                    gr.forest = new SpanningForestAlgorithm(g, nodes, edges, pool,
+                            SpanningForestAlgorithm.DEFAULT_BATCH_SIZE).getResult();
+                    timeMs = gr.forest.executionTimeMs;
+                }
+                default -> {
+                    Path tempDir = options.getTempDir() == null ? null : Paths.get(options.getTempDir());
+                    int chunk = options.getExternalChunkSize() > 0
+                            ? options.getExternalChunkSize() : ExternalKruskalAlgorithm.DEFAULT_CHUNK_SIZE;
+                    gr.external_kruskal = new ExternalKruskalAlgorithm(EdgeSource.of(g, nodes, edges),
+                            chunk, tempDir).getResult();
+                    timeMs = gr.external_kruskal.executionTimeMs;
+                }
+            }
+            algorithmLatency.get(name).record(timeMs);
+        }
+        return gr;
+    }
+
+    private void handleMetrics(HttpExchange exchange) throws IOException {
+        if (!allow(exchange, "GET")) return;
+        StringBuilder out = new StringBuilder();
+        counter(out, "mst_requests_total", "Requests to /mst", requests.sum());
+        counter(out, "mst_rejected_total", "Requests rejected because the queue was full", rejected.sum());
+        counter(out, "mst_failed_total", "Requests whose algorithms failed", failed.sum());
+        counter(out, "mst_graphs_total", "Graphs processed", graphs.sum());
+        gauge(out, "mst_graphs_in_flight", "Graphs queued or running", capacity - slots.availablePermits());
+        gauge(out, "mst_capacity", "Maximum graphs queued or running", capacity);
+
+        out.append("# HELP mst_request_latency_ms End-to-end latency of /mst requests\n");
+        out.append("# TYPE mst_request_latency_ms histogram\n");
+        requestLatency.writeTo(out, "mst_request_latency_ms", "");
+        out.append("# HELP mst_queue_wait_ms Time graphs waited for a worker\n");
+        out.append("# TYPE mst_queue_wait_ms histogram\n");
+        queueWait.writeTo(out, "mst_queue_wait_ms", "");
+        out.append("# HELP mst_algorithm_latency_ms Execution time per algorithm\n");
+        out.append("# TYPE mst_algorithm_latency_ms histogram\n");
+        for (var entry : algorithmLatency.entrySet()) {
+            entry.getValue().writeTo(out, "mst_algorithm_latency_ms", "algorithm=\"" + entry.getKey() + "\"");
+        }
+        send(exchange, 200, "text/plain; version=0.0.4; charset=utf-8", out.toString());
+    }
+
+    private static void counter(StringBuilder out, String name, String help, long value) {
+        out.append("# HELP ").append(name).append(' ').append(help).append('\n');
+        out.append("# TYPE ").append(name).append(" counter\n");
+        out.append(name).append(' ').append(value).append('\n');
+    }
+
+    private static void gauge(StringBuilder out, String name, String help, long value) {
+        out.append("# HELP ").append(name).append(' ').append(help).append('\n');
+        out.append("# TYPE ").append(name).append(" gauge\n");
+        out.append(name).append(' ').append(value).append('\n');
+    }
+
+    /**
+     * Reads the "algorithms" query parameter.
+     *
+     * @throws IllegalArgumentException if an algorithm is unknown
+     */
+    private static List<String> parseAlgorithms(URI uri) {
+        String query = uri.getRawQuery();
+        if (query == null) return DEFAULT_ALGORITHMS;
+        for (String param : query.split("&")) {
+            int eq = param.indexOf('=');
+            if (eq < 0 || !param.substring(0, eq).equals("algorithms")) continue;
+            Set<String> requested = new HashSet<>();
+            for (String name : URLDecoder.decode(param.substring(eq + 1), StandardCharsets.UTF_8).split(",")) {
+                name = name.trim();
+                if (!ALGORITHMS.contains(name)) {
+                    throw new IllegalArgumentException("Unknown algorithm: " + name + " (valid: " + ALGORITHMS + ")");
+                }
+                requested.add(name);
+            }
+            // Run them in the fixed order, whatever order they were listed in.
+            return ALGORITHMS.stream().filter(requested::contains).toList();
+        }
+        return DEFAULT_ALGORITHMS;
+    }
+
+    /**
+     * Checks one graph of the request body.
+     *
+     * @throws IllegalArgumentException if the nodes or edges are missing
+     */
+    private static GraphData checkGraph(GraphData g) {
+        if (g.getNodes() == null || g.getEdges() == null) {
+            throw new IllegalArgumentException("a graph needs \"nodes\" and \"edges\"");
+        }
+        for (Edge e : g.getEdges()) {
+            if (e == null) throw new IllegalArgumentException("null edge");
+        }
+        return g;
+    }
+
+    private boolean allow(HttpExchange exchange, String method) throws IOException {
+        if (exchange.getRequestMethod().equalsIgnoreCase(method)) return true;
+        exchange.getResponseHeaders().set("Allow", method);
+        sendError(exchange, 405, "Use " + method);
+        return false;
+    }
+
+    private void sendError(HttpExchange exchange, int status, String message) throws IOException {
+        send(exchange, status, "application/json", gson.toJson(Map.of("error", message)));
+    }
+
+    /**
+     * Thrown when a request body exceeds the size limit.
+     */
+    private static final class BodyTooLargeException extends IOException {
+        private static final long serialVersionUID = 1L;
+
+        BodyTooLargeException(long limit) {
+            super("Body exceeds the limit of " + limit + " bytes");
+        }
+    }
+
+    /**
+     * Stops reading a request body (including a chunked one) once it exceeds the limit.
+     */
+    private static final class LimitedInputStream extends FilterInputStream {
+        private final long limit;
+        private long count;
+
+        LimitedInputStream(InputStream in, long limit) {
+            super(in);
+            this.limit = limit;
+        }
+
+        @Override
+        public int read() throws IOException {
+            int b = super.read();
+            if (b >= 0) count(1);
+            return b;
+        }
+
+        @Override
+        public int read(byte[] buffer, int offset, int length) throws IOException {
+            int n = super.read(buffer, offset, length);
+            if (n > 0) count(n);
+            return n;
+        }
+
+        private void count(int n) throws BodyTooLargeException {
+            count += n;
+            if (count > limit) throw new BodyTooLargeException(limit);
+        }
+    }
+
+    private static void send(HttpExchange exchange, int status, String contentType, String body) throws IOException {
+        byte[] bytes = body.getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().set("Content-Type", contentType);
+        exchange.sendResponseHeaders(status, bytes.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(bytes);
+        }
+    }
+}
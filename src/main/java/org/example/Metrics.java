@@ -0,0 +1,171 @@
+package org.example;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Per-phase metrics of one algorithm run.
+ *
+ * The counters are plain long fields, so they cannot overflow on large graphs and cost no more
+ * than the int counter they replace. Phases are timed only at their boundaries (wall time,
+ * thread CPU time and allocated bytes from the ThreadMXBean), which keeps the overhead low
+ * enough to leave the metrics on. Every phase and every finished run is also emitted as a
+ * JDK Flight Recorder event (see {@link MSTEvents}); events cost almost nothing when no
+ * recording is active.
+ */
+public class Metrics {
+    /** Edges checked against the graph index while building the compact form */
+    public long validations;
+    /** CSR adjacency slots written while building the compact form */
+    public long adjacencyEntries;
+    /** Elements sorted or partitioned */
+    public long sorted;
+    /** Union-find root lookups */
+    public long finds;
+    /** Successful union-find merges */
+    public long unions;
+    /** Heap insertions (including keys added by a bulk heapify) */
+    public long heapPushes;
+    /** Heap removals */
+    public long heapPops;
+    /** Decrease-key operations of an indexed heap */
+    public long decreaseKeys;
+    /** Popped heap entries that were discarded because they were out of date */
+    public long staleSkips;
+    /** Adjacency slots, edges or array entries examined */
+    public long scans;
+    /** Timing of every phase, in execution order */
+    public Map<String, Phase> phases = new LinkedHashMap<>();
+
+    /** Name of the measured algorithm (used for the flight recorder events only) */
+    private final transient String algorithm;
+
+    /**
+     * Timing of one phase, measured on the thread that ran it.
+     * - wallMs: elapsed wall-clock time.
+     * - cpuMs: CPU time of the thread (-1 if not measurable).
+     * - allocatedBytes: bytes allocated by the thread (-1 if not measurable).
+     */
+    public static class Phase {
+        public double wallMs;
+        public double cpuMs;
+        public long allocatedBytes;
+    }
+
+    /**
+     * Measures one phase from its creation until {@link #close()}.
+     */
+    public final class Timer implements AutoCloseable {
+        private final String name;
+        private final MSTEvents.PhaseEvent event = new MSTEvents.PhaseEvent();
+        private final long start = System.nanoTime();
+        private final long cpuStart = CpuTime.now();
+        private final long allocatedStart = CpuTime.allocatedBytes();
+
+        private Timer(String name) {
+            this.name = name;
+            event.begin();
+        }
+
+        @Override
+        public void close() {
+            Phase p = new Phase();
+            p.wallMs = (System.nanoTime() - start) / 1_000_000.0;
+            p.cpuMs = CpuTime.elapsedMs(cpuStart);
+            long allocatedEnd = CpuTime.allocatedBytes();
+            p.allocatedBytes = allocatedStart < 0 || allocatedEnd < 0 ? -1 : allocatedEnd - allocatedStart;
+            phases.merge(name, p, Metrics::add);
+
+            event.end();
+            if (event.shouldCommit()) {
+                event.algorithm = algorithm;
+                event.phase = name;
+                event.allocatedBytes = p.allocatedBytes;
+                event.commit();
+            }
+        }
+    }
+
+    /**
+     * Creates empty metrics.
+     * @param algorithm name of the measured algorithm
+     */
+    public Metrics(String algorithm) {
+        this.algorithm = algorithm;
+    }
+
+    /**
+     * Starts timing a phase; use it in a try-with-resources block.
+     * A phase that runs several times accumulates its timings.
+     *
+     * @param name the phase name
+     * @return the running timer
+     */
+    public Timer phase(String name) {
+        return new Timer(name);
+    }
+
+    /**
+     * Adds the counters and phases of other metrics, e.g. those of building the compact graph.
+     * @param other the metrics to include
+     */
+    public void include(Metrics other) {
+        validations += other.validations;
+        adjacencyEntries += other.adjacencyEntries;
+        sorted += other.sorted;
+        finds += other.finds;
+        unions += other.unions;
+        heapPushes += other.heapPushes;
+        heapPops += other.heapPops;
+        decreaseKeys += other.decreaseKeys;
+        staleSkips += other.staleSkips;
+        scans += other.scans;
+        other.phases.forEach((name, p) -> phases.merge(name, p, Metrics::add));
+    }
+
+    /**
+     * Returns the number of operations of the MST work itself; validation and the adjacency
+     * build belong to preparing the graph and are not included.
+     * @return the operation count
+     */
+    public long operations() {
+        return sorted + finds + unions + heapPushes + heapPops + decreaseKeys + scans;
+    }
+
+    /**
+     * Emits the counters of a finished run as a flight recorder event.
+     *
+     * @param strategy  the variant that ran
+     * @param vertices  number of vertices
+     * @param edges     number of edges
+     * @param totalCost total MST weight
+     */
+    public void commit(String strategy, int vertices, int edges, long totalCost) {
+        MSTEvents.RunEvent event = new MSTEvents.RunEvent();
+        if (!event.shouldCommit()) return;
+        event.algorithm = algorithm;
+        event.strategy = strategy;
+        event.vertices = vertices;
+        event.edges = edges;
+        event.totalCost = totalCost;
+        event.validations = validations;
+        event.adjacencyEntries = adjacencyEntries;
+        event.sorted = sorted;
+        event.finds = finds;
+        event.unions = unions;
+        event.heapPushes = heapPushes;
+        event.heapPops = heapPops;
+        event.decreaseKeys = decreaseKeys;
+        event.staleSkips = staleSkips;
+        event.scans = scans;
+        event.commit();
+    }
+
+    private static Phase add(Phase a, Phase b) {
+        Phase sum = new Phase();
+        sum.wallMs = a.wallMs + b.wallMs;
+        sum.cpuMs = a.cpuMs < 0 || b.cpuMs < 0 ? -1 : a.cpuMs + b.cpuMs;
+        sum.allocatedBytes = a.allocatedBytes < 0 || b.allocatedBytes < 0 ? -1 : a.allocatedBytes + b.allocatedBytes;
+        return sum;
+    }
+}
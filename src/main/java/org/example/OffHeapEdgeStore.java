@@ -0,0 +1,90 @@
+package org.example;
+
+import java.io.IOException;
+import java.lang.foreign.MemorySegment;
+import java.lang.foreign.ValueLayout;
+import java.nio.ByteOrder;
+
+/**
+ * Edge storage outside the Java heap, backed by a {@link MemorySegment}.
+ *
+ * The from, to and weight values are kept as three packed little-endian int arrays
+ * (12 bytes per edge, no objects), which is also the edge layout of {@link BinaryGraphFile},
+ * so a binary graph file can be mapped without copying. Only the vertex names stay on the heap.
+ * The segment is owned by the caller's arena; {@link BinaryGraphFile} maps it with an automatic
+ * arena, so the mapping is released when the store is no longer reachable.
+ */
+public class OffHeapEdgeStore implements EdgeSource {
+    /** Layout of one stored int value */
+    private static final ValueLayout.OfInt INT = ValueLayout.JAVA_INT_UNALIGNED.withOrder(ByteOrder.LITTLE_ENDIAN);
+
+    private final String[] names;
+    private final int edgeCount;
+    private final MemorySegment from;
+    private final MemorySegment to;
+    private final MemorySegment weight;
+
+    private OffHeapEdgeStore(String[] names, MemorySegment edges, int edgeCount) {
+        this.names = names;
+        this.edgeCount = edgeCount;
+        long bytes = 4L * edgeCount;
+        this.from = edges.asSlice(0, bytes);
+        this.to = edges.asSlice(bytes, bytes);
+        this.weight = edges.asSlice(2 * bytes, bytes);
+    }
+
+    /**
+     * Wraps already mapped edge arrays without copying them. The segment stays owned
+     * by the caller's arena and must hold from[edgeCount], to[edgeCount] and weight[edgeCount]
+     * as little-endian ints.
+     *
+     * @param edges     the edge arrays
+     * @param edgeCount number of edges
+     * @param names     vertex names indexed by id
+     * @return the store
+     * @throws IOException if an edge references a vertex id out of range
+     */
+    static OffHeapEdgeStore wrap(MemorySegment edges, int edgeCount, String[] names) throws IOException {
+        OffHeapEdgeStore store = new OffHeapEdgeStore(names, edges, edgeCount);
+        // Range-check once, so the algorithms can trust the ids.
+        for (int e = 0; e < edgeCount; e++) {
+            int u = store.getFrom(e);
+            int v = store.getTo(e);
+            if (u < 0 || u >= names.length || v < 0 || v >= names.length) {
+                throw new IOException("Edge " + e + " references an unknown vertex id");
+            }
+        }
+        return store;
+    }
+
+    @Override
+    public int getVertexCount() {
+        return names.length;
+    }
+
+    @Override
+    public int getEdgeCount() {
+        return edgeCount;
+    }
+
+    @Override
+    public int getFrom(int e) {
+        return from.getAtIndex(INT, e);
+    }
+
+    @Override
+    public int getTo(int e) {
+        return to.getAtIndex(INT, e);
+    }
+
+    @Override
+    public int getWeight(int e) {
+        return weight.getAtIndex(INT, e);
+    }
+
+    @Override
+    public String getName(int v) {
+        return names[v];
+    }
+
+}
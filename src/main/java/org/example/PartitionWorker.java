@@ -0,0 +1,82 @@
+package org.example;
+
+import java.io.*;
+import java.net.InetAddress;
+import java.net.Socket;
+
+/**
+ * Worker process of {@link DistributedKruskalAlgorithm}.
+ *
+ * It connects to the coordinator on the loopback interface, receives one partition of the edge
+ * set, computes the minimum spanning forest of that partition with Kruskal's scan (stable radix
+ * sort and union-find, as in {@link KruskalAlgorithm}) and sends the forest back in the order its
+ * edges were accepted, i.e. sorted by (weight, edge id). Then it exits.
+ *
+ * Usage: java -cp ... org.example.PartitionWorker PORT INDEX
+ */
+public final class PartitionWorker {
+
+    private PartitionWorker() {
+    }
+
+    public static void main(String[] args) throws IOException {
+        if (args.length != 2) {
+            System.err.println("Usage: PartitionWorker PORT INDEX");
+            System.exit(2);
+        }
+        int port = Integer.parseInt(args[0]);
+        int index = Integer.parseInt(args[1]);
+        try (Socket socket = new Socket(InetAddress.getLoopbackAddress(), port);
+             DataInputStream in = new DataInputStream(
+                     new BufferedInputStream(socket.getInputStream(), DistributedKruskalAlgorithm.BUFFER_SIZE));
+             DataOutputStream out = new DataOutputStream(
+                     new BufferedOutputStream(socket.getOutputStream(), DistributedKruskalAlgorithm.BUFFER_SIZE))) {
+            // Step 1: Introduce ourselves; workers connect in any order.
+            out.writeInt(DistributedKruskalAlgorithm.MAGIC);
+            out.writeInt(index);
+            out.flush();
+
+            // Step 2: Receive the partition: vertex count, first global edge id, edge count, edges.
+            if (in.readInt() != DistributedKruskalAlgorithm.MAGIC) {
+                throw new IOException("Unexpected data from the coordinator");
+            }
+            int vertexCount = in.readInt();
+            int firstEdge = in.readInt();
+            int edgeCount = in.readInt();
+            int[] from = new int[edgeCount];
+            int[] to = new int[edgeCount];
+            int[] weight = new int[edgeCount];
+            for (int e = 0; e < edgeCount; e++) {
+                from[e] = in.readInt();
+                to[e] = in.readInt();
+                weight[e] = in.readInt();
+            }
+
+            // Step 3: Kruskal on the partition. The sort is stable and the partition is a contiguous
+            // range of edge ids, so ties are broken by global edge id as in the single-process run.
+            long start = System.nanoTime();
+            int[] order = EdgeSort.radixOrder(weight);
+            DisjointSet sets = new DisjointSet(vertexCount);
+            int needed = Math.max(vertexCount - 1, 0);
+            int[] forest = new int[Math.min(needed, edgeCount)];
+            int size = 0;
+            for (int i = 0; i < edgeCount && size < needed; i++) {
+                int e = order[i];
+                if (sets.union(from[e], to[e])) forest[size++] = e;
+            }
+            long computeNanos = System.nanoTime() - start;
+
+            // Step 4: Send the forest back with global edge ids, then the local compute time.
+            out.writeInt(size);
+            for (int i = 0; i < size; i++) {
+                int e = forest[i];
+                out.writeInt(firstEdge + e);
+                out.writeInt(from[e]);
+                out.writeInt(to[e]);
+                out.writeInt(weight[e]);
+            }
+            out.writeLong(computeNanos);
+            out.flush();
+        }
+    }
+}
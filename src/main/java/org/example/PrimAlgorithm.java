@@ -6,66 +6,180 @@ import java.util.*;
  * Implementation of Prim’s Algorithm for finding the Minimum Spanning Tree (MST).
  * The algorithm starts from a single vertex and repeatedly adds the smallest edge
  * that connects a new vertex to the growing MST.
- * It uses a priority queue for efficient selection of minimum-weight edges.
+ * It runs on the compact {@link CompactGraph} form and uses a primitive priority queue
+ * for efficient selection of minimum-weight edges.
+ *
+ * Four variants are available:
+ * - LAZY pushes every candidate edge and discards stale entries when they are polled (heap size O(E)).
+ * - EAGER keeps one entry per vertex in an indexed d-ary heap and lowers its key
+ *   when a cheaper connecting edge is found (heap size at most V).
+ * - DENSE uses no heap at all: a minDist array is scanned for the next vertex, which costs
+ *   O(V²) and beats any heap when the graph is complete or nearly complete.
+ * - AUTO picks DENSE when E / V² reaches the configured threshold, and EAGER otherwise.
  */
 public class PrimAlgorithm {
 
+    /**
+     * Selects which variant of Prim’s algorithm is executed.
+     */
+    public enum Mode {
+        /** Edge-based priority queue with stale-entry skipping */
+        LAZY,
+        /** Vertex-based indexed heap with decrease-key */
+        EAGER,
+        /** Heap-free O(V²) array scan for dense graphs */
+        DENSE,
+        /** DENSE or EAGER, chosen from the graph density */
+        AUTO
+    }
+
+    /** Heap arity used by the eager variant when none is given */
+    public static final int DEFAULT_ARITY = 4;
+
+    /**
+     * Default E / V² ratio from which AUTO switches to the dense variant.
+     * A complete simple graph has a ratio close to 0.5.
+     */
+    public static final double DEFAULT_DENSE_THRESHOLD = 0.25;
+
     /**
      * Helper class to store the results of Prim’s algorithm:
      * - mstEdges: list of edges in the resulting MST.
      * - totalCost: sum of weights of all MST edges.
-     * - operationsCount: number of significant algorithmic steps performed.
+     * - operationsCount: number of significant algorithmic steps performed (sum of the metrics counters).
+     * - validationCount: number of lookups spent validating vertices and edges.
+     * - maxHeapSize: largest number of entries held by the priority queue.
+     * - strategy: which variant produced the result (e.g. "lazy" or "eager-4ary").
      * - executionTimeMs: total time taken to execute the algorithm.
+     * - cpuTimeMs: CPU time of the executing thread (-1 if not measurable).
+     * - metrics: separate counters and per-phase timings (including building the compact graph).
      */
     public static class Result {
         public List<Edge> mstEdges = new ArrayList<>();
         public int totalCost;
-        public int operationsCount;
+        public long operationsCount;
+        public int validationCount;
+        public int maxHeapSize;
+        public String strategy;
         public double executionTimeMs;
+        public double cpuTimeMs;
+        public Metrics metrics;
+        public boolean cached;
     }
 
-    private Map<String, List<Edge>> adj;
-    private Set<String> marked;
-    private PriorityQueue<Edge> pq;
+    private CompactGraph cg;
+    private boolean[] marked;
+    private int markedCount;
+    private LongMinHeap pq;
     private Result result;
+    private Metrics metrics;
 
     /**
-     * Constructs a PrimAlgorithm object and executes Prim’s algorithm.
+     * Constructs a PrimAlgorithm object and executes the lazy variant of Prim’s algorithm.
      *
      * @param graph The input graph data.
      * @param nodes List of vertices in the graph.
      * @param edges List of edges with weights.
      */
     public PrimAlgorithm(GraphData graph, List<String> nodes, List<Edge> edges) {
-        long start = System.nanoTime();
+        this(graph, nodes, edges, Mode.LAZY, DEFAULT_ARITY);
+    }
 
-        // Build adjacency list
-        adj = new HashMap<>();
-        for (String node : nodes) {
-            adj.put(node, new ArrayList<>());
-        }
+    /**
+     * Constructs a PrimAlgorithm object and executes the selected variant of Prim’s algorithm.
+     *
+     * @param graph The input graph data.
+     * @param nodes List of vertices in the graph.
+     * @param edges List of edges with weights.
+     * @param mode  The variant to run.
+     * @param arity Number of children per heap node for the eager variant (2 = binary, 4 = 4-ary).
+     */
+    public PrimAlgorithm(GraphData graph, List<String> nodes, List<Edge> edges, Mode mode, int arity) {
+        this(graph, nodes, edges, mode, arity, DEFAULT_DENSE_THRESHOLD);
+    }
+
+    /**
+     * Constructs a PrimAlgorithm object and executes the selected variant of Prim’s algorithm.
+     *
+     * @param graph          The input graph data.
+     * @param nodes          List of vertices in the graph.
+     * @param edges          List of edges with weights.
+     * @param mode           The variant to run.
+     * @param arity          Number of children per heap node for the eager variant.
+     * @param denseThreshold E / V² ratio from which AUTO selects the dense variant.
+     */
+    public PrimAlgorithm(GraphData graph, List<String> nodes, List<Edge> edges, Mode mode, int arity,
+                         double denseThreshold) {
+        // Obtain the compact (int-interned, CSR) form of the graph.
+        // Invalid edges are already dropped and every edge is present in both directions.
+        this(CompactGraph.of(graph, nodes, edges), mode, arity, denseThreshold);
+    }
+
+    /**
+     * Constructs a PrimAlgorithm object and executes the selected variant on an edge source.
+     *
+     * @param source         The edges of the graph (assumed to be valid).
+     * @param mode           The variant to run.
+     * @param arity          Number of children per heap node for the eager variant.
+     * @param denseThreshold E / V² ratio from which AUTO selects the dense variant.
+     */
+    public PrimAlgorithm(EdgeSource source, Mode mode, int arity, double denseThreshold) {
+        long start = System.nanoTime();
+        long cpuStart = CpuTime.now();
 
-        // Step 2: Populate adjacency list with all valid edges.
-        // Each edge is added in both directions since the graph is undirected.
-        for (Edge e : edges) {
-            if (!graph.hasVertex(e.getFrom()) || !graph.hasVertex(e.getTo())) continue;
-            if (!graph.hasEdgeBetween(e.getFrom(), e.getTo())) continue;
-            adj.get(e.getFrom()).add(e);
-            adj.get(e.getTo()).add(new Edge(e.getTo(), e.getFrom(), e.getWeight()));
+        // Step 1: Prim’s algorithm walks the adjacency of each vertex, so it needs the CSR form;
+        // a source that is not already a compact graph (e.g. an off-heap store) is copied into one.
+        metrics = new Metrics("prim");
+        if (source instanceof CompactGraph compact) {
+            cg = compact;
+        } else {
+            try (var _ = metrics.phase("copy")) {
+                cg = CompactGraph.copyOf(source);
+            }
         }
+        metrics.include(cg.getBuildMetrics());
 
-        // Step 3: Initialize helper structures:
-        // 'marked' tracks visited vertices, 'pq' stores edges by smallest weight,
+        // Step 2: Initialize helper structures:
+        // 'marked' tracks visited vertices, 'pq' stores packed (weight, adjacency slot) keys,
         // and 'result' keeps MST details.
-        marked = new HashSet<>();
-        pq = new PriorityQueue<>(Comparator.comparingInt(Edge::getWeight));
+        marked = new boolean[cg.getVertexCount()];
         result = new Result();
+        result.metrics = metrics;
+        result.validationCount = cg.getValidationCount();
+
+        // Step 3: Resolve AUTO from the density E / V² of the graph.
+        if (mode == Mode.AUTO) {
+            double v = cg.getVertexCount();
+            double density = v == 0 ? 0 : cg.getEdgeCount() / (v * v);
+            mode = density >= denseThreshold ? Mode.DENSE : Mode.EAGER;
+        }
 
         // Step 4: Start Prim’s algorithm from the first node in the list.
-        prim(nodes.get(0));
+        try (var _ = metrics.phase("grow")) {
+            if (mode == Mode.DENSE) {
+                result.strategy = "dense";
+                if (cg.getVertexCount() > 0) {
+                    densePrim(0);
+                }
+            } else if (mode == Mode.EAGER) {
+                result.strategy = "eager-" + arity + "ary";
+                if (cg.getVertexCount() > 0) {
+                    eagerPrim(0, arity);
+                }
+            } else {
+                result.strategy = "lazy";
+                pq = new LongMinHeap(cg.getVertexCount());
+                if (cg.getVertexCount() > 0) {
+                    prim(0);
+                }
+            }
+        }
 
         // Step 5: Record total execution time of the algorithm in milliseconds.
+        result.operationsCount = metrics.operations();
         result.executionTimeMs = (System.nanoTime() - start) / 1_000_000.0;
+        result.cpuTimeMs = CpuTime.elapsedMs(cpuStart);
+        metrics.commit(result.strategy, cg.getVertexCount(), cg.getEdgeCount(), result.totalCost);
     }
 
     public Result getResult() {
@@ -77,43 +191,181 @@ public class PrimAlgorithm {
      * It expands the MST by repeatedly selecting the smallest available edge
      * connecting a visited vertex to an unvisited vertex.
      *
-     * @param start The starting vertex of the MST.
+     * @param start The starting vertex id of the MST.
      */
-    private void prim(String start) {
+    private void prim(int start) {
+        int[] adjVertex = cg.getAdjVertex();
+        int[] adjEdge = cg.getAdjEdge();
+        int[] from = cg.getFrom();
+        int[] to = cg.getTo();
+
         // Add all edges connected to the starting vertex into the priority queue.
         scan(start);
 
         // Continue until all vertices are visited or no more edges are available.
-        while (!pq.isEmpty() && marked.size() < adj.size()) {
-            // Retrieve the smallest edge from the priority queue.
-            Edge e = pq.poll();
-            result.operationsCount++;
+        long pops = 0;
+        long stale = 0;
+        while (!pq.isEmpty() && markedCount < marked.length) {
+            // Retrieve the smallest edge (as an adjacency slot) from the priority queue.
+            result.maxHeapSize = Math.max(result.maxHeapSize, pq.size());
+            long key = pq.poll();
+            pops++;
+            int slot = LongMinHeap.idOf(key);
+            int v = adjVertex[slot];
             // Skip edges leading to already-visited vertices to avoid cycles.
-            if (marked.contains(e.getTo())) continue;
+            if (marked[v]) {
+                stale++;
+                continue;
+            }
             // Add this edge to the MST and update the total cost.
-            result.mstEdges.add(e);
-            result.totalCost += e.getWeight();
+            // The tree-side endpoint is the other end of the stored edge.
+            int e = adjEdge[slot];
+            int u = from[e] + to[e] - v;
+            int w = LongMinHeap.weightOf(key);
+            result.mstEdges.add(cg.toEdge(u, v, w));
+            result.totalCost += w;
             // Explore the new vertex and add its outgoing edges to the priority queue.
-            scan(e.getTo());
+            scan(v);
         }
+        metrics.heapPops += pops;
+        metrics.staleSkips += stale;
     }
 
     /**
      * Marks a vertex as visited and adds all its adjacent edges to the priority queue
      * if the target vertex has not yet been visited.
      *
-     * @param vertex The vertex to scan.
+     * @param vertex The vertex id to scan.
      */
-    private void scan(String vertex) {
+    private void scan(int vertex) {
+        int[] offsets = cg.getOffsets();
+        int[] adjVertex = cg.getAdjVertex();
+        int[] adjWeight = cg.getAdjWeight();
         // Mark the current vertex as visited.
-        marked.add(vertex);
-        // Iterate through all edges from this vertex.
-        for (Edge e : adj.get(vertex)) {
-            result.operationsCount++;
+        marked[vertex] = true;
+        markedCount++;
+        // Iterate through all adjacency slots of this vertex.
+        int pushes = 0;
+        for (int p = offsets[vertex]; p < offsets[vertex + 1]; p++) {
             // Add edges leading to unvisited vertices to the priority queue for consideration.
-            if (!marked.contains(e.getTo())) {
-                pq.add(e);
+            if (!marked[adjVertex[p]]) {
+                pq.add(LongMinHeap.pack(adjWeight[p], p));
+                pushes++;
+            }
+        }
+        metrics.scans += offsets[vertex + 1] - offsets[vertex];
+        metrics.heapPushes += pushes;
+    }
+
+    /**
+     * Eager implementation of Prim’s algorithm.
+     * Every vertex outside the tree is in the heap at most once, keyed by the cheapest
+     * known edge connecting it to the tree; finding a cheaper edge lowers that key
+     * instead of adding another entry, so no stale entries are ever polled.
+     *
+     * @param start The starting vertex id of the MST.
+     * @param arity Number of children per heap node.
+     */
+    private void eagerPrim(int start, int arity) {
+        int[] offsets = cg.getOffsets();
+        int[] adjVertex = cg.getAdjVertex();
+        int[] adjWeight = cg.getAdjWeight();
+        // 'parent' is the tree vertex on the cheapest known edge to each vertex (-1 for the start).
+        int[] parent = new int[marked.length];
+        IndexedMinHeap heap = new IndexedMinHeap(marked.length, arity);
+
+        long pushes = 1;
+        long pops = 0;
+        long decreases = 0;
+        long scans = 0;
+        parent[start] = -1;
+        heap.insert(start, 0);
+        while (!heap.isEmpty()) {
+            result.maxHeapSize = Math.max(result.maxHeapSize, heap.size());
+            // Take the vertex with the cheapest connection to the tree.
+            int key = heap.keyOf(heap.peekId());
+            int v = heap.poll();
+            pops++;
+            marked[v] = true;
+            markedCount++;
+            if (parent[v] >= 0) {
+                result.mstEdges.add(cg.toEdge(parent[v], v, key));
+                result.totalCost += key;
+            }
+            // Relax all edges from the new tree vertex.
+            scans += offsets[v + 1] - offsets[v];
+            for (int p = offsets[v]; p < offsets[v + 1]; p++) {
+                int u = adjVertex[p];
+                if (marked[u]) continue;
+                int w = adjWeight[p];
+                if (!heap.contains(u)) {
+                    parent[u] = v;
+                    heap.insert(u, w);
+                    pushes++;
+                } else if (w < heap.keyOf(u)) {
+                    parent[u] = v;
+                    heap.decreaseKey(u, w);
+                    decreases++;
+                }
+            }
+        }
+        metrics.heapPushes += pushes;
+        metrics.heapPops += pops;
+        metrics.decreaseKeys += decreases;
+        metrics.scans += scans;
+    }
+
+    /**
+     * Dense implementation of Prim’s algorithm.
+     * 'minDist' holds the cheapest known edge from the tree to every vertex; each step scans
+     * the whole array for the closest unvisited vertex and relaxes that vertex's edges.
+     * All arrays are allocated up front, so the main loop allocates nothing except MST edges.
+     *
+     * @param start The starting vertex id of the MST.
+     */
+    private void densePrim(int start) {
+        int n = marked.length;
+        int[] offsets = cg.getOffsets();
+        int[] adjVertex = cg.getAdjVertex();
+        int[] adjWeight = cg.getAdjWeight();
+        int[] minDist = new int[n];
+        int[] parent = new int[n];
+        // 'reached' marks vertices that have at least one edge to the tree.
+        boolean[] reached = new boolean[n];
+
+        long scans = 0;
+        reached[start] = true;
+        parent[start] = -1;
+        for (int step = 0; step < n; step++) {
+            // Find the unvisited, reachable vertex with the smallest connection cost.
+            int v = -1;
+            scans += n;
+            for (int u = 0; u < n; u++) {
+                if (!marked[u] && reached[u] && (v < 0 || minDist[u] < minDist[v])) {
+                    v = u;
+                }
+            }
+            // No reachable vertex left: the rest of the graph is disconnected from the start.
+            if (v < 0) break;
+
+            marked[v] = true;
+            markedCount++;
+            if (parent[v] >= 0) {
+                result.mstEdges.add(cg.toEdge(parent[v], v, minDist[v]));
+                result.totalCost += minDist[v];
+            }
+            // Relax all edges from the new tree vertex.
+            scans += offsets[v + 1] - offsets[v];
+            for (int p = offsets[v]; p < offsets[v + 1]; p++) {
+                int u = adjVertex[p];
+                if (marked[u]) continue;
+                if (!reached[u] || adjWeight[p] < minDist[u]) {
+                    reached[u] = true;
+                    minDist[u] = adjWeight[p];
+                    parent[u] = v;
+                }
             }
         }
+        metrics.scans += scans;
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,240 @@
+package org.example;
+
+import java.util.*;
+
+/**
+ * Leveled replacement-edge index (Holm, de Lichtenberg and Thorup) for a minimum spanning
+ * forest under edge deletions.
+ *
+ * Holds a fixed set of edges with distinct long keys (smaller is better) together with their
+ * minimum spanning forest. Deleting a forest edge returns the lightest edge that reconnects
+ * the two parts, in O(log² V) amortized time per deletion instead of a scan of all non-tree
+ * edges:
+ * - Every edge has a level in [0, log2 V]. F_i is the forest of the tree edges with level >= i,
+ *   stored as an {@link EulerTourForest}; a tree of F_i has at most V / 2^i vertices, and every
+ *   non-tree edge of level i has both endpoints in one tree of F_i.
+ * - In F_i, tree edges of level exactly i are marked and every vertex carries the smallest key
+ *   of its non-tree edges of level i, so both can be found in a whole tree in O(log V).
+ * - After cutting a tree edge of level l, the levels l down to 0 are searched. On level i the
+ *   smaller part first moves its level-i tree edges up to level i + 1; then its level-i non-tree
+ *   edges are visited in key order: an edge that stays inside the part moves up to level i + 1,
+ *   the first one that leaves it is the replacement. Since the part is at most half its tree,
+ *   an edge moves up at most log2 V times, which pays for the visits.
+ *
+ * Edges are named by caller ids in [0, edgeCapacity); a key must not change while the edge is
+ * in the index.
+ */
+public class ReplacementIndex {
+    private static final byte ABSENT = 0;
+    private static final byte TREE = 1;
+    private static final byte NON_TREE = 2;
+
+    private final int vertexCount;
+    /** F_0 .. F_{L-1}; F_i is created when the first edge reaches level i */
+    private final EulerTourForest[] forests;
+
+    private final byte[] state;
+    private final int[] level;
+    private final long[] key;
+    private final int[] from;
+    private final int[] to;
+    /** Euler-tour forest slot of every tree edge */
+    private final int[] slot;
+    /** Tree edge in every slot */
+    private final int[] slotEdge;
+    private final int[] freeSlots;
+    private int freeSlotCount;
+
+    /** Keys of the non-tree edges of level i at vertex v, by level * vertexCount + v */
+    private final Map<Long, TreeSet<Long>> incident = new HashMap<>();
+    private long operationsCount;
+
+    /**
+     * Creates an empty index.
+     * @param vertexCount  number of vertices; vertex ids are in [0, vertexCount)
+     * @param edgeCapacity edge ids are in [0, edgeCapacity)
+     */
+    public ReplacementIndex(int vertexCount, int edgeCapacity) {
+        this.vertexCount = vertexCount;
+        forests = new EulerTourForest[32 - Integer.numberOfLeadingZeros(Math.max(vertexCount, 1))];
+        forests[0] = new EulerTourForest(vertexCount);
+        state = new byte[edgeCapacity];
+        level = new int[edgeCapacity];
+        key = new long[edgeCapacity];
+        from = new int[edgeCapacity];
+        to = new int[edgeCapacity];
+        slot = new int[edgeCapacity];
+        slotEdge = new int[vertexCount];
+        freeSlots = new int[vertexCount];
+        for (int s = 0; s < vertexCount; s++) freeSlots[freeSlotCount++] = vertexCount - 1 - s;
+    }
+
+    /**
+     * Adds an edge of the minimum spanning forest. All forest edges must be added before the
+     * non-tree edges.
+     * @param e      edge id
+     * @param u      first endpoint
+     * @param v      second endpoint (not yet connected to u)
+     * @param edgeKey the edge's key
+     */
+    public void addTreeEdge(int e, int u, int v, long edgeKey) {
+        register(e, u, v, edgeKey);
+        link(e, 0);
+    }
+
+    /**
+     * Adds an edge that is not in the minimum spanning forest, i.e. one whose key is larger
+     * than every key on the forest path between its endpoints.
+     * @param e      edge id
+     * @param u      first endpoint
+     * @param v      second endpoint
+     * @param edgeKey the edge's key
+     */
+    public void addNonTreeEdge(int e, int u, int v, long edgeKey) {
+        register(e, u, v, edgeKey);
+        level[e] = 0;
+        addIncident(e);
+    }
+
+    /**
+     * Returns true if the edge is in the index.
+     * @param e edge id
+     * @return whether it is present
+     */
+    public boolean contains(int e) {
+        return e < state.length && state[e] != ABSENT;
+    }
+
+    /**
+     * Returns true if the edge is a forest edge of the index.
+     * @param e edge id
+     * @return whether it is in the forest
+     */
+    public boolean isTreeEdge(int e) {
+        return e < state.length && state[e] == TREE;
+    }
+
+    /**
+     * Removes an edge. If it was a forest edge, the lightest edge that reconnects the forest
+     * becomes a forest edge and is returned.
+     * @param e edge id (must be in the index)
+     * @return the replacement edge, or -1 if there is none (or e was not a forest edge)
+     */
+    public int delete(int e) {
+        if (state[e] == NON_TREE) {
+            removeIncident(e);
+            state[e] = ABSENT;
+            return -1;
+        }
+        int u = from[e];
+        int v = to[e];
+        int top = level[e];
+        int s = slot[e];
+        for (int i = 0; i <= top; i++) {
+            forests[i].cut(s);
+            operationsCount++;
+        }
+        freeSlots[freeSlotCount++] = s;
+        state[e] = ABSENT;
+
+        for (int i = top; i >= 0; i--) {
+            EulerTourForest f = forests[i];
+            int small = f.treeSize(u) <= f.treeSize(v) ? u : v;
+            // Step 1: The smaller part moves its level-i tree edges up, so they stay in F_{i+1}.
+            for (int t = f.findMarked(small); t >= 0; t = f.findMarked(small)) {
+                int g = slotEdge[t];
+                f.setMarked(t, false);
+                level[g] = i + 1;
+                forest(i + 1).link(from[g], to[g], t);
+                forests[i + 1].setMarked(t, true);
+                operationsCount += 2;
+            }
+            // Step 2: Visit its level-i non-tree edges by key; the first one leaving the part wins.
+            for (int x = f.findMin(small); x >= 0; x = f.findMin(small)) {
+                int g = LongMinHeap.idOf(incident(i, x).first());
+                int y = from[g] == x ? to[g] : from[g];
+                operationsCount++;
+                removeIncident(g);
+                if (!f.connected(small, y)) {
+                    state[g] = TREE;
+                    link(g, i);
+                    return g;
+                }
+                level[g] = i + 1;
+                addIncident(g);
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Returns the number of Euler-tour forest operations and non-tree edges visited so far.
+     * @return operation count
+     */
+    public long getOperationsCount() {
+        return operationsCount;
+    }
+
+    private void register(int e, int u, int v, long edgeKey) {
+        if (state[e] != ABSENT) {
+            throw new IllegalArgumentException("Edge " + e + " is already in the index");
+        }
+        from[e] = u;
+        to[e] = v;
+        key[e] = edgeKey;
+    }
+
+    /** Makes e a tree edge of level i: it is linked in F_0 .. F_i and marked in F_i. */
+    private void link(int e, int i) {
+        int s = freeSlots[--freeSlotCount];
+        slot[e] = s;
+        slotEdge[s] = e;
+        state[e] = TREE;
+        level[e] = i;
+        for (int j = 0; j <= i; j++) {
+            forests[j].link(from[e], to[e], s);
+            operationsCount++;
+        }
+        forests[i].setMarked(s, true);
+    }
+
+    private void addIncident(int e) {
+        state[e] = NON_TREE;
+        int i = level[e];
+        EulerTourForest f = forest(i);
+        for (int x : new int[]{from[e], to[e]}) {
+            TreeSet<Long> keys = incident.computeIfAbsent((long) i * vertexCount + x, k -> new TreeSet<>());
+            keys.add(key[e]);
+            if (keys.first() == key[e]) f.setKey(x, key[e]);
+        }
+    }
+
+    private void removeIncident(int e) {
+        int i = level[e];
+        EulerTourForest f = forests[i];
+        for (int x : new int[]{from[e], to[e]}) {
+            long index = (long) i * vertexCount + x;
+            TreeSet<Long> keys = incident.get(index);
+            keys.remove(key[e]);
+            if (keys.isEmpty()) {
+                incident.remove(index);
+                f.setKey(x, EulerTourForest.NO_KEY);
+            } else {
+                f.setKey(x, keys.first());
+            }
+        }
+    }
+
+    private TreeSet<Long> incident(int i, int x) {
+        return incident.get((long) i * vertexCount + x);
+    }
+
+    private EulerTourForest forest(int i) {
+        if (i >= forests.length) {
+            // Cannot happen: a tree of F_i has at most vertexCount / 2^i vertices.
+            throw new IllegalStateException("Level " + i + " exceeds " + (forests.length - 1));
+        }
+        if (forests[i] == null) forests[i] = new EulerTourForest(vertexCount);
+        return forests[i];
+    }
+}
@@ -0,0 +1,172 @@
+package org.example;
+
+import com.google.gson.Gson;
+import com.google.gson.JsonParseException;
+
+import java.io.*;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.*;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.*;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+/**
+ * Content-addressed cache of MST results.
+ *
+ * Results are keyed by a SHA-256 hash of the graph's compact form (vertex names in id order and
+ * the valid edges in input order, since both decide tie-breaking and the start vertex) plus the
+ * algorithm name and every engine option that shows up in its result (e.g. the parallelism).
+ * Lookups go to a bounded in-memory LRU tier first and then to an optional on-disk tier of one
+ * JSON file per entry; disk hits are promoted into memory. Every hit returns a fresh copy, so the
+ * caller can mark it as cached without touching the stored result.
+ * Unreadable disk entries are treated as misses and overwritten.
+ */
+public class ResultCache {
+
+    /** Bumped whenever the algorithms or their results change, so old disk entries are not reused */
+    private static final int FORMAT_VERSION = 5;
+
+    private final Gson gson;
+    private final Path directory;
+    private final Map<String, Object> memory;
+    private final AtomicInteger hits = new AtomicInteger();
+    private final AtomicInteger misses = new AtomicInteger();
+
+    /**
+     * Creates a cache.
+     *
+     * @param gson       Gson instance used for the disk tier
+     * @param maxEntries maximum number of results kept in memory
+     * @param directory  directory of the disk tier, or null for a memory-only cache
+     * @throws IOException if the directory cannot be created
+     */
+    public ResultCache(Gson gson, int maxEntries, Path directory) throws IOException {
+        this.gson = gson;
+        this.directory = directory;
+        if (directory != null) Files.createDirectories(directory);
+        // Access-ordered map: the eldest entry is the least recently used one.
+        this.memory = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Object> eldest) {
+                return size() > maxEntries;
+            }
+        };
+    }
+
+    /**
+     * Computes the content hash of a graph.
+     *
+     * @param cg the edges of the graph
+     * @return the hash as a hex string
+     */
+    public static String hash(EdgeSource cg) {
+        MessageDigest digest;
+        try {
+            digest = MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+        ByteBuffer buffer = ByteBuffer.allocate(1 << 13);
+        buffer.putInt(FORMAT_VERSION).putInt(cg.getVertexCount()).putInt(cg.getEdgeCount());
+        for (int v = 0; v < cg.getVertexCount(); v++) {
+            // Length-prefixed, so different name lists can never produce the same bytes.
+            byte[] name = cg.getName(v).getBytes(StandardCharsets.UTF_8);
+            flushIfFull(digest, buffer, 4);
+            buffer.putInt(name.length);
+            flush(digest, buffer);
+            digest.update(name);
+        }
+        for (int e = 0; e < cg.getEdgeCount(); e++) {
+            flushIfFull(digest, buffer, 12);
+            buffer.putInt(cg.getFrom(e)).putInt(cg.getTo(e)).putInt(cg.getWeight(e));
+        }
+        flush(digest, buffer);
+        return HexFormat.of().formatHex(digest.digest());
+    }
+
+    private static void flushIfFull(MessageDigest digest, ByteBuffer buffer, int needed) {
+        if (buffer.remaining() < needed) flush(digest, buffer);
+    }
+
+    private static void flush(MessageDigest digest, ByteBuffer buffer) {
+        buffer.flip();
+        digest.update(buffer);
+        buffer.clear();
+    }
+
+    /**
+     * Returns the cached result of an algorithm, or computes and stores it on a miss.
+     *
+     * @param graphHash hash of the graph from {@link #hash(EdgeSource)}
+     * @param algorithm name of the algorithm (and of any setting that changes its result)
+     * @param type      result class
+     * @param compute   runs the algorithm
+     * @param onHit     called with the copy served from the cache
+     * @return the result
+     */
+    public <R> R get(String graphHash, String algorithm, Class<R> type, Supplier<R> compute, Consumer<R> onHit) {
+        String key = graphHash + "-" + algorithm;
+        R cached = lookup(key, type);
+        if (cached != null) {
+            hits.incrementAndGet();
+            onHit.accept(cached);
+            return cached;
+        }
+        misses.incrementAndGet();
+        R result = compute.get();
+        store(key, result);
+        return result;
+    }
+
+    private <R> R lookup(String key, Class<R> type) {
+        synchronized (memory) {
+            Object value = memory.get(key);
+            // Copy, so marking the served result does not change the stored one.
+            if (type.isInstance(value)) return gson.fromJson(gson.toJsonTree(value), type);
+        }
+        if (directory == null) return null;
+        Path file = directory.resolve(key + ".json");
+        if (!Files.isRegularFile(file)) return null;
+        try (Reader in = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+            R value = gson.fromJson(in, type);
+            if (value == null) return null;
+            synchronized (memory) {
+                memory.put(key, value);
+            }
+            return gson.fromJson(gson.toJsonTree(value), type);
+        } catch (IOException | JsonParseException e) {
+            return null;
+        }
+    }
+
+    private void store(String key, Object result) {
+        synchronized (memory) {
+            memory.put(key, result);
+        }
+        if (directory == null) return;
+        // Write to a temporary file and move it into place, so readers never see a partial entry.
+        try {
+            Path tmp = Files.createTempFile(directory, key, ".tmp");
+            try (Writer out = Files.newBufferedWriter(tmp, StandardCharsets.UTF_8)) {
+                gson.toJson(result, out);
+            }
+            Files.move(tmp, directory.resolve(key + ".json"), StandardCopyOption.REPLACE_EXISTING,
+                    StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            // The disk tier is best effort; the result is still cached in memory.
+            System.err.println("Could not write cache entry " + key + ": " + e.getMessage());
+        }
+    }
+
+    public int getHits() {
+        return hits.get();
+    }
+
+    public int getMisses() {
+        return misses.get();
+    }
+}
@@ -0,0 +1,121 @@
+package org.example;
+
+import com.google.gson.Gson;
+import com.google.gson.JsonIOException;
+import com.google.gson.stream.JsonWriter;
+
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.*;
+
+/**
+ * Writes graph results incrementally as soon as each one is available.
+ *
+ * In JSON mode the output has the usual {@code {"results": [...]}} shape, pretty-printed
+ * or compact, and every result is flushed right after it has been serialized. In JSON Lines
+ * mode every result is one compact JSON object per line, so other tools can read the file
+ * while the run is still going. Optionally the same output is echoed to stdout.
+ */
+public class ResultWriter implements Closeable {
+    private final Gson gson;
+    private final boolean jsonLines;
+    private final Writer file;
+    /** JSON mode writers (file and optional stdout echo) */
+    private final JsonWriter fileJson;
+    private final JsonWriter echoJson;
+    /** JSON Lines mode echo target, or null */
+    private final Writer echo;
+
+    private ResultWriter(Gson gson, Writer file, Writer echo, boolean pretty, boolean jsonLines) throws IOException {
+        this.gson = gson;
+        this.jsonLines = jsonLines;
+        this.file = file;
+        this.echo = echo;
+        if (jsonLines) {
+            fileJson = null;
+            echoJson = null;
+        } else {
+            fileJson = begin(file, pretty);
+            echoJson = echo == null ? null : begin(echo, pretty);
+        }
+    }
+
+    /**
+     * Opens the writer configured by the run options.
+     *
+     * @param gson    Gson instance used to serialize each result
+     * @param options output path, format and echo settings
+     * @return the opened writer
+     * @throws IOException if the output file cannot be created
+     */
+    public static ResultWriter open(Gson gson, RunOptions options) throws IOException {
+        Writer file = Files.newBufferedWriter(Paths.get(options.getOutput()), StandardCharsets.UTF_8);
+        Writer echo = options.isEcho()
+                ? new OutputStreamWriter(System.out, StandardCharsets.UTF_8)
+                : null;
+        return new ResultWriter(gson, file, echo, !options.isCompact(), options.isJsonLines());
+    }
+
+    private static JsonWriter begin(Writer out, boolean pretty) throws IOException {
+        JsonWriter json = new JsonWriter(out);
+        if (pretty) json.setIndent("  ");
+        json.beginObject();
+        json.name("results");
+        json.beginArray();
+        return json;
+    }
+
+    /**
+     * Serializes one graph result and flushes it.
+     *
+     * @param result the result to write
+     * @throws JsonIOException if writing fails
+     */
+    public void write(MSTComparison.GraphResult result) {
+        try {
+            if (jsonLines) {
+                String line = gson.toJson(result);
+                file.write(line);
+                file.write('\n');
+                file.flush();
+                if (echo != null) {
+                    echo.write(line);
+                    echo.write('\n');
+                    echo.flush();
+                }
+            } else {
+                gson.toJson(result, MSTComparison.GraphResult.class, fileJson);
+                fileJson.flush();
+                if (echoJson != null) {
+                    gson.toJson(result, MSTComparison.GraphResult.class, echoJson);
+                    echoJson.flush();
+                }
+            }
+        } catch (IOException e) {
+            throw new JsonIOException(e);
+        }
+    }
+
+    /**
+     * Finishes the JSON document and closes the output file (stdout stays open).
+     */
+    @Override
+    public void close() throws IOException {
+        try {
+            if (!jsonLines) {
+                fileJson.endArray();
+                fileJson.endObject();
+                fileJson.flush();
+                if (echoJson != null) {
+                    echoJson.endArray();
+                    echoJson.endObject();
+                    echoJson.flush();
+                    echo.write('\n');
+                }
+            }
+            if (echo != null) echo.flush();
+        } finally {
+            file.close();
+        }
+    }
+}
@@ -0,0 +1,240 @@
+package org.example;
+
+/**
+ * Command-line options of {@link MSTComparison}.
+ *
+ * The first argument that does not start with "--" is the graph type filter
+ * (small, medium, large or all). All other options use the form --name or --name=value.
+ */
+public class RunOptions {
+    /** Graph type to process, or null if it was not given on the command line */
+    private String filterType;
+    /** Path of the input graph file */
+    private String input = "ass_3_input.json";
+    /** Path of the results file (derived from the format when not given) */
+    private String output;
+    /** Write compact JSON instead of pretty-printed JSON */
+    private boolean compact;
+    /** Write one JSON object per line instead of a single JSON document */
+    private boolean jsonLines;
+    /** Echo the results to stdout as well */
+    private boolean echo = true;
+    /** Number of graph worker threads (platform pool) */
+    private int threads = Runtime.getRuntime().availableProcessors();
+    /** Run graph tasks on virtual threads instead of a fixed platform pool (no CPU time or allocations then) */
+    private boolean virtualThreads;
+    /** Upper bound on the summed size (vertices + edges) of graphs in flight */
+    private long maxInFlight = 50_000_000L;
+    /** Parallelism of the ForkJoinPool used by the parallel MST engines */
+    private int parallelism = Runtime.getRuntime().availableProcessors();
+    /** Edges per sorted run of the external-memory Kruskal (0 = do not run it) */
+    private int externalChunkSize;
+    /** Directory for the run files of the external-memory Kruskal (null = system default) */
+    private String tempDir;
+    /** Worker processes of the multi-process Kruskal (0 = do not run it) */
+    private int workers;
+    /** Benchmark mode: runs per algorithm that are discarded before measuring */
+    private int warmup;
+    /** Benchmark mode: measured runs per algorithm */
+    private int repeat = 1;
+    /** True when --warmup or --repeat was given */
+    private boolean benchmark;
+    /** Serve results of unchanged graphs from the result cache */
+    private boolean cache = true;
+    /** Directory of the on-disk cache tier (null = memory only, the default) */
+    private String cacheDir;
+    /** Maximum number of results in the in-memory cache tier */
+    private int cacheSize = 1024;
+    /** Port of the HTTP service mode (0 = process the input file and exit) */
+    private int servePort;
+    /** Service mode: graphs that may wait for a worker before requests are rejected */
+    private int queueSize = 64;
+    /** Service mode: largest accepted request body in MB */
+    private int maxBodyMb = 64;
+
+    /**
+     * Parses the command-line arguments.
+     *
+     * @param args the arguments passed to main
+     * @return the parsed options
+     * @throws IllegalArgumentException if an option is unknown or has an invalid value
+     */
+    public static RunOptions parse(String[] args) {
+        RunOptions options = new RunOptions();
+        for (String arg : args) {
+            if (!arg.startsWith("--")) {
+                if (options.filterType == null) options.filterType = arg.trim().toLowerCase();
+                continue;
+            }
+            int eq = arg.indexOf('=');
+            String name = eq < 0 ? arg.substring(2) : arg.substring(2, eq);
+            String value = eq < 0 ? null : arg.substring(eq + 1);
+            switch (name) {
+                case "input" -> options.input = required(name, value);
+                case "output" -> options.output = required(name, value);
+                case "compact" -> options.compact = true;
+                case "jsonl" -> options.jsonLines = true;
+                case "no-echo" -> options.echo = false;
+                case "threads" -> options.threads = positiveInt(name, value);
+                case "virtual-threads" -> options.virtualThreads = true;
+                case "max-in-flight" -> options.maxInFlight = positiveLong(name, value);
+                case "parallelism" -> options.parallelism = positiveInt(name, value);
+                case "external" -> options.externalChunkSize = value == null
+                        ? ExternalKruskalAlgorithm.DEFAULT_CHUNK_SIZE : positiveInt(name, value);
+                case "temp-dir" -> options.tempDir = required(name, value);
+                case "workers" -> options.workers = value == null
+                        ? DistributedKruskalAlgorithm.DEFAULT_WORKERS : positiveInt(name, value);
+                case "warmup" -> {
+                    options.warmup = nonNegativeInt(name, value);
+                    options.benchmark = true;
+                }
+                case "no-cache" -> options.cache = false;
+                case "cache-dir" -> options.cacheDir = required(name, value);
+                case "cache-size" -> options.cacheSize = positiveInt(name, value);
+                case "serve" -> options.servePort = value == null ? 8080 : positiveInt(name, value);
+                case "queue-size" -> options.queueSize = nonNegativeInt(name, value);
+                case "max-body" -> options.maxBodyMb = positiveInt(name, value);
+                case "repeat" -> {
+                    options.repeat = positiveInt(name, value);
+                    options.benchmark = true;
+                }
+                default -> throw new IllegalArgumentException("Unknown option: " + arg);
+            }
+        }
+        return options;
+    }
+
+    private static String required(String name, String value) {
+        if (value == null || value.isEmpty()) {
+            throw new IllegalArgumentException("--" + name + " needs a value");
+        }
+        return value;
+    }
+
+    private static int positiveInt(String name, String value) {
+        try {
+            int n = Integer.parseInt(value);
+            if (n > 0) return n;
+        } catch (NumberFormatException | NullPointerException ignored) {
+            // Reported below.
+        }
+        throw new IllegalArgumentException("--" + name + " needs a positive integer value");
+    }
+
+    private static long positiveLong(String name, String value) {
+        try {
+            long n = Long.parseLong(value);
+            if (n > 0) return n;
+        } catch (NumberFormatException | NullPointerException ignored) {
+            // Reported below.
+        }
+        throw new IllegalArgumentException("--" + name + " needs a positive integer value");
+    }
+
+    private static int nonNegativeInt(String name, String value) {
+        try {
+            int n = Integer.parseInt(value);
+            if (n >= 0) return n;
+        } catch (NumberFormatException | NullPointerException ignored) {
+            // Reported below.
+        }
+        throw new IllegalArgumentException("--" + name + " needs a non-negative integer value");
+    }
+
+    public String getFilterType() {
+        return filterType;
+    }
+
+    public void setFilterType(String filterType) {
+        this.filterType = filterType;
+    }
+
+    public String getInput() {
+        return input;
+    }
+
+    public String getOutput() {
+        if (output != null) return output;
+        return jsonLines ? "results.jsonl" : "results.json";
+    }
+
+    public boolean isCompact() {
+        return compact;
+    }
+
+    public boolean isJsonLines() {
+        return jsonLines;
+    }
+
+    public boolean isEcho() {
+        return echo;
+    }
+
+    public int getThreads() {
+        return threads;
+    }
+
+    public boolean isVirtualThreads() {
+        return virtualThreads;
+    }
+
+    public long getMaxInFlight() {
+        return maxInFlight;
+    }
+
+    public int getParallelism() {
+        return parallelism;
+    }
+
+    public int getExternalChunkSize() {
+        return externalChunkSize;
+    }
+
+    public String getTempDir() {
+        return tempDir;
+    }
+
+    public int getWorkers() {
+        return workers;
+    }
+
+    public int getWarmup() {
+        return warmup;
+    }
+
+    public int getRepeat() {
+        return repeat;
+    }
+
+    public boolean isBenchmark() {
+        return benchmark;
+    }
+
+    public boolean isCache() {
+        return cache;
+    }
+
+    public String getCacheDir() {
+        return cacheDir;
+    }
+
+    public int getCacheSize() {
+        return cacheSize;
+    }
+
+    public boolean isServe() {
+        return servePort > 0;
+    }
+
+    public int getServePort() {
+        return servePort;
+    }
+
+    public int getQueueSize() {
+        return queueSize;
+    }
+
+    public long getMaxBodyBytes() {
+        return (long) maxBodyMb << 20;
+    }
+}
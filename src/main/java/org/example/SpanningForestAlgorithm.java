@@ -0,0 +1,292 @@
+package org.example;
+
+import java.util.*;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.stream.IntStream;
+
+/**
+ * Component-aware minimum spanning forest.
+ *
+ * {@link PrimAlgorithm} grows a single tree from the first vertex, so on a disconnected graph it
+ * only covers that vertex's component. This algorithm first labels all connected components
+ * with one breadth-first pass over the CSR adjacency (O(V + E)), then grows one lazy Prim tree
+ * per component. Components are independent, so they run in parallel on a {@link ForkJoinPool};
+ * small components are grouped into batches of about {@link #DEFAULT_BATCH_SIZE} vertices + edges,
+ * so thousands of tiny clusters do not become thousands of tasks.
+ *
+ * The result is a spanning forest (V - C edges for C components) together with a breakdown per
+ * component. Every component writes its edges into its own slice of the output, so the edge order
+ * does not depend on the thread schedule. The heap orders edges by (weight, edge id), the same
+ * total order as {@link KruskalAlgorithm}, so ties pick exactly the same forest edges.
+ */
+public class SpanningForestAlgorithm {
+
+    /** Components are grouped until a batch holds at least this many vertices + edges */
+    public static final int DEFAULT_BATCH_SIZE = 1 << 14;
+
+    /**
+     * One connected component of the forest:
+     * - root: the component's first vertex (where its tree was grown from).
+     * - vertices: number of vertices.
+     * - edges: number of edges inside the component (self-loops and parallel edges included).
+     * - totalCost: weight of the component's spanning tree.
+     */
+    public static class Component {
+        public String root;
+        public int vertices;
+        public int edges;
+        public int totalCost;
+    }
+
+    /**
+     * Helper class to store the results of the spanning forest algorithm:
+     * - mstEdges: edges of the spanning forest, grouped by component.
+     * - totalCost: sum of weights of all forest edges.
+     * - operationsCount: number of significant algorithmic steps performed (sum of the metrics counters).
+     * - validationCount: number of lookups spent validating vertices and edges.
+     * - componentCount: number of connected components (isolated vertices included).
+     * - batches: number of parallel tasks the components were grouped into.
+     * - parallelism: parallelism of the pool the algorithm ran on.
+     * - components: per-component breakdown, in order of each component's first vertex.
+     * - executionTimeMs: total time taken to execute the algorithm.
+     * - cpuTimeMs: CPU time of the calling thread (pool workers excluded, -1 if not measurable).
+     * - metrics: separate counters and per-phase timings (including building the compact graph).
+     */
+    public static class Result {
+        public List<Edge> mstEdges = new ArrayList<>();
+        public int totalCost;
+        public long operationsCount;
+        public int validationCount;
+        public int componentCount;
+        public int batches;
+        public int parallelism;
+        public List<Component> components = new ArrayList<>();
+        public double executionTimeMs;
+        public double cpuTimeMs;
+        public Metrics metrics;
+        public boolean cached;
+    }
+
+    private final Result result;
+    // Counters shared by the pool workers; they are copied into the metrics at the end.
+    private final LongAdder scans = new LongAdder();
+    private final LongAdder heapPushes = new LongAdder();
+    private final LongAdder heapPops = new LongAdder();
+    private final LongAdder staleSkips = new LongAdder();
+
+    /**
+     * Computes the spanning forest on a dedicated pool with one worker per available processor.
+     *
+     * @param graph The input graph data.
+     * @param nodes List of vertices in the graph.
+     * @param edges List of edges with weights.
+     */
+    public SpanningForestAlgorithm(GraphData graph, List<String> nodes, List<Edge> edges) {
+        ForkJoinPool pool = new ForkJoinPool(Runtime.getRuntime().availableProcessors());
+        try {
+            result = run(graph, nodes, edges, pool, DEFAULT_BATCH_SIZE);
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    /**
+     * Computes the spanning forest on an existing pool (the pool is not shut down).
+     *
+     * @param graph     The input graph data.
+     * @param nodes     List of vertices in the graph.
+     * @param edges     List of edges with weights.
+     * @param pool      The pool that runs the per-component tasks.
+     * @param batchSize Minimum vertices + edges per task; larger components get a task of their own.
+     */
+    public SpanningForestAlgorithm(GraphData graph, List<String> nodes, List<Edge> edges, ForkJoinPool pool,
+                                   int batchSize) {
+        if (batchSize <= 0) {
+            throw new IllegalArgumentException("Batch size must be positive: " + batchSize);
+        }
+        result = run(graph, nodes, edges, pool, batchSize);
+    }
+
+    public Result getResult() {
+        return result;
+    }
+
+    private Result run(GraphData graph, List<String> nodes, List<Edge> edges, ForkJoinPool pool, int batchSize) {
+        long start = System.nanoTime();
+        long cpuStart = CpuTime.now();
+        Result r = new Result();
+
+        // Step 1: Obtain the compact graph.
+        CompactGraph cg = CompactGraph.of(graph, nodes, edges);
+        r.metrics = new Metrics("forest");
+        r.metrics.include(cg.getBuildMetrics());
+        r.validationCount = cg.getValidationCount();
+        r.parallelism = pool.getParallelism();
+        int n = cg.getVertexCount();
+
+        // Step 2: Label the components. 'order' lists the vertices grouped by component,
+        // component c owns order[compStart[c] .. compStart[c + 1]).
+        int[] order = new int[n];
+        int[] compStart;
+        int[] compEdges;
+        try (var _ = r.metrics.phase("components")) {
+            int[] starts = new int[n + 1];
+            int[] edgeCounts = new int[n];
+            int count = labelComponents(cg, order, starts, edgeCounts);
+            compStart = Arrays.copyOf(starts, count + 1);
+            compEdges = Arrays.copyOf(edgeCounts, count);
+            r.metrics.scans += cg.getAdjEdge().length;
+        }
+        int components = compEdges.length;
+        r.componentCount = components;
+
+        // Step 3: Group consecutive components into batches of at least batchSize vertices + edges.
+        int[] batchStart = new int[components + 1];
+        int batches = 0;
+        long batchWeight = 0;
+        for (int c = 0; c < components; c++) {
+            if (batchWeight == 0) batchStart[batches++] = c;
+            batchWeight += (compStart[c + 1] - compStart[c]) + (long) compEdges[c];
+            if (batchWeight >= batchSize) batchWeight = 0;
+        }
+        batchStart[batches] = components;
+        r.batches = batches;
+
+        // Step 4: Grow one tree per component, one task per batch, inside the pool.
+        // Component c writes its tree edge ids to tree[compStart[c] - c ...].
+        // Only the calling thread is timed: the wall time is exact, CPU time and allocations exclude the workers.
+        int[] tree = new int[n - components];
+        int[] costs = new int[components];
+        boolean[] marked = new boolean[n];
+        int batchCount = batches;
+        try (var _ = r.metrics.phase("grow")) {
+            pool.submit(() -> IntStream.range(0, batchCount).parallel().forEach(b ->
+                    growBatch(cg, order, compStart, batchStart[b], batchStart[b + 1], marked, tree, costs)
+            )).join();
+        }
+
+        // Step 5: Map the tree edge ids back to named edges and fill in the component breakdown.
+        for (int e : tree) {
+            r.mstEdges.add(cg.toEdge(e));
+        }
+        for (int c = 0; c < components; c++) {
+            Component component = new Component();
+            component.root = cg.getName(order[compStart[c]]);
+            component.vertices = compStart[c + 1] - compStart[c];
+            component.edges = compEdges[c];
+            component.totalCost = costs[c];
+            r.components.add(component);
+            r.totalCost += costs[c];
+        }
+
+        r.metrics.scans += scans.sum();
+        r.metrics.heapPushes += heapPushes.sum();
+        r.metrics.heapPops += heapPops.sum();
+        r.metrics.staleSkips += staleSkips.sum();
+        r.operationsCount = r.metrics.operations();
+        r.executionTimeMs = (System.nanoTime() - start) / 1_000_000.0;
+        // Only the calling thread is measured; the pool workers' CPU time is not included.
+        r.cpuTimeMs = CpuTime.elapsedMs(cpuStart);
+        r.metrics.commit("forest", n, cg.getEdgeCount(), r.totalCost);
+        return r;
+    }
+
+    /**
+     * Labels the connected components by breadth-first search, using 'order' as the queue.
+     *
+     * @param cg         The compact graph.
+     * @param order      Receives the vertices grouped by component.
+     * @param starts     Receives the offset of every component in 'order'.
+     * @param edgeCounts Receives the number of edges of every component.
+     * @return the number of components
+     */
+    private static int labelComponents(CompactGraph cg, int[] order, int[] starts, int[] edgeCounts) {
+        int n = cg.getVertexCount();
+        int[] offsets = cg.getOffsets();
+        int[] adjVertex = cg.getAdjVertex();
+        boolean[] seen = new boolean[n];
+        int tail = 0;
+        int count = 0;
+        for (int s = 0; s < n; s++) {
+            if (seen[s]) continue;
+            starts[count] = tail;
+            seen[s] = true;
+            order[tail++] = s;
+            // Every edge appears in the adjacency of both endpoints (a self-loop twice in one list).
+            long slots = 0;
+            for (int head = starts[count]; head < tail; head++) {
+                int v = order[head];
+                slots += offsets[v + 1] - offsets[v];
+                for (int p = offsets[v]; p < offsets[v + 1]; p++) {
+                    int w = adjVertex[p];
+                    if (!seen[w]) {
+                        seen[w] = true;
+                        order[tail++] = w;
+                    }
+                }
+            }
+            edgeCounts[count++] = (int) (slots / 2);
+        }
+        starts[count] = tail;
+        return count;
+    }
+
+    /**
+     * Grows the trees of components first .. end - 1 with lazy Prim.
+     * Components are vertex-disjoint, so concurrent batches never touch the same entries of
+     * 'marked', 'tree' or 'costs'.
+     */
+    private void growBatch(CompactGraph cg, int[] order, int[] compStart, int first, int end, boolean[] marked,
+                           int[] tree, int[] costs) {
+        int[] offsets = cg.getOffsets();
+        int[] adjVertex = cg.getAdjVertex();
+        int[] adjWeight = cg.getAdjWeight();
+        int[] adjEdge = cg.getAdjEdge();
+        int[] from = cg.getFrom();
+        int[] to = cg.getTo();
+        LongMinHeap pq = new LongMinHeap(16);
+        long scanned = 0;
+        long pushes = 0;
+        long pops = 0;
+        long stale = 0;
+
+        for (int c = first; c < end; c++) {
+            int size = compStart[c + 1] - compStart[c];
+            int out = compStart[c] - c;
+            int added = 0;
+            int cost = 0;
+            int v = order[compStart[c]];
+            while (true) {
+                // Add the vertex to the tree and push its edges to unvisited vertices.
+                marked[v] = true;
+                scanned += offsets[v + 1] - offsets[v];
+                for (int p = offsets[v]; p < offsets[v + 1]; p++) {
+                    if (!marked[adjVertex[p]]) {
+                        pq.add(LongMinHeap.pack(adjWeight[p], adjEdge[p]));
+                        pushes++;
+                    }
+                }
+                if (added == size - 1) break;
+                // Take the cheapest edge leading out of the tree; skip edges with both ends in the tree.
+                int e = LongMinHeap.idOf(pq.poll());
+                pops++;
+                while (marked[from[e]] && marked[to[e]]) {
+                    stale++;
+                    e = LongMinHeap.idOf(pq.poll());
+                    pops++;
+                }
+                tree[out + added++] = e;
+                cost += cg.getWeight(e);
+                v = marked[from[e]] ? to[e] : from[e];
+            }
+            costs[c] = cost;
+            // The component is spanned; what is left in the heap only leads back into it.
+            pq.clear();
+        }
+        scans.add(scanned);
+        heapPushes.add(pushes);
+        heapPops.add(pops);
+        staleSkips.add(stale);
+    }
+}
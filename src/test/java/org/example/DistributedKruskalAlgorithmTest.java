@@ -0,0 +1,65 @@
+package org.example;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.util.*;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Runs {@link DistributedKruskalAlgorithm} with forked worker JVMs on small tie-heavy graphs and
+ * compares it with the sequential {@link KruskalAlgorithm}.
+ */
+class DistributedKruskalAlgorithmTest {
+
+    @Test
+    void matchesKruskalWithForkedWorkers() throws IOException {
+        Random random = new Random(3);
+        for (int workers = 2; workers <= 3; workers++) {
+            int n = 30 + random.nextInt(30);
+            GraphData graph = randomGraph(random, n, 4 * n);
+            KruskalAlgorithm.Result expected =
+                    new KruskalAlgorithm(graph, graph.getNodes(), graph.getEdges()).getResult();
+            DistributedKruskalAlgorithm.Result actual = new DistributedKruskalAlgorithm(
+                    EdgeSource.of(graph, graph.getNodes(), graph.getEdges()), workers, List.of()).getResult();
+
+            String message = workers + " workers";
+            assertEquals(expected.totalCost, actual.totalCost, message);
+            assertEquals(edgeSet(expected.mstEdges), edgeSet(actual.mstEdges), message);
+            assertEquals(workers, actual.partitions.size(), message);
+            for (DistributedKruskalAlgorithm.Worker worker : actual.partitions) {
+                // Hello, forest size, 16 bytes per forest edge and the compute time.
+                assertEquals(8L + 4L + 16L * worker.forestEdges + 8L, worker.bytesReceived, message);
+            }
+        }
+    }
+
+    private static GraphData randomGraph(Random random, int n, int m) {
+        List<String> nodes = new ArrayList<>();
+        for (int v = 0; v < n; v++) nodes.add("v" + v);
+        Map<String, Edge> edges = new LinkedHashMap<>();
+        for (int i = 0; i < m; i++) {
+            int u = random.nextInt(n);
+            int v = random.nextInt(n - 1);
+            if (v >= u) v++;
+            // Few distinct weights, so the partial forests of the workers tie with each other.
+            Edge e = new Edge("v" + u, "v" + v, random.nextInt(4));
+            edges.putIfAbsent("v" + Math.min(u, v) + "|v" + Math.max(u, v), e);
+        }
+        GraphData g = new GraphData();
+        g.setNodes(nodes);
+        g.setEdges(new ArrayList<>(edges.values()));
+        return g;
+    }
+
+    private static Set<String> edgeSet(List<Edge> edges) {
+        Set<String> set = new HashSet<>();
+        for (Edge e : edges) {
+            String u = e.getFrom();
+            String v = e.getTo();
+            set.add((u.compareTo(v) < 0 ? u + "|" + v : v + "|" + u) + ":" + e.getWeight());
+        }
+        return set;
+    }
+}
@@ -0,0 +1,183 @@
+package org.example;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.*;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Randomized check of {@link DynamicMST} against recomputing the MST with {@link KruskalAlgorithm}
+ * after every insertion, deletion and weight update.
+ */
+class DynamicMSTTest {
+
+    @Test
+    void matchesKruskalUnderRandomUpdates() {
+        Random random = new Random(42);
+        for (int round = 0; round < 200; round++) {
+            int n = 2 + random.nextInt(12);
+            List<String> nodes = new ArrayList<>();
+            for (int v = 0; v < n; v++) nodes.add("v" + v);
+            // Current edges by "u|v" (u < v), mirrored next to the dynamic tree.
+            Map<String, Edge> edges = new LinkedHashMap<>();
+            for (int i = random.nextInt(3 * n); i > 0; i--) {
+                Edge e = randomEdge(random, n);
+                edges.putIfAbsent(key(e.getFrom(), e.getTo()), e);
+            }
+            GraphData graph = graph(nodes, edges.values());
+            DynamicMST mst = new DynamicMST(graph, new KruskalAlgorithm(graph, nodes, graph.getEdges()).getResult());
+            assertSameCost(nodes, edges, mst, round, "initial");
+
+            for (int step = 0; step < 60; step++) {
+                Edge e = randomEdge(random, n);
+                String k = key(e.getFrom(), e.getTo());
+                String op;
+                if (!edges.containsKey(k)) {
+                    op = "insert " + e;
+                    mst.insertEdge(e.getFrom(), e.getTo(), e.getWeight());
+                    edges.put(k, e);
+                } else if (random.nextBoolean()) {
+                    op = "delete " + e.getFrom() + "-" + e.getTo();
+                    assertEquals(true, mst.deleteEdge(e.getFrom(), e.getTo()), op);
+                    edges.remove(k);
+                } else {
+                    op = "update " + e;
+                    assertEquals(true, mst.updateWeight(e.getFrom(), e.getTo(), e.getWeight()), op);
+                    edges.put(k, e);
+                }
+                assertSameCost(nodes, edges, mst, round, op);
+            }
+        }
+    }
+
+    @Test
+    void matchesKruskalWhileDeletingDenseGraph() {
+        // Mostly deletions from a dense graph, so replacement searches move edges up several levels.
+        Random random = new Random(5);
+        for (int round = 0; round < 3; round++) {
+            int n = 60 + random.nextInt(60);
+            List<String> nodes = new ArrayList<>();
+            for (int v = 0; v < n; v++) nodes.add("v" + v);
+            Map<String, Edge> edges = new LinkedHashMap<>();
+            for (int i = 8 * n; i > 0; i--) {
+                Edge e = randomEdge(random, n);
+                edges.putIfAbsent(key(e.getFrom(), e.getTo()), e);
+            }
+            GraphData graph = graph(nodes, edges.values());
+            DynamicMST mst = new DynamicMST(graph, new KruskalAlgorithm(graph, nodes, graph.getEdges()).getResult());
+
+            List<String> keys = new ArrayList<>(edges.keySet());
+            Collections.shuffle(keys, random);
+            for (int step = 0; !keys.isEmpty(); step++) {
+                String op;
+                if (step % 10 == 9) {
+                    Edge e = randomEdge(random, n);
+                    String k = key(e.getFrom(), e.getTo());
+                    if (edges.containsKey(k)) continue;
+                    op = "insert " + e;
+                    mst.insertEdge(e.getFrom(), e.getTo(), e.getWeight());
+                    edges.put(k, e);
+                    keys.add(k);
+                } else {
+                    String k = keys.remove(keys.size() - 1);
+                    Edge e = edges.remove(k);
+                    op = "delete " + e.getFrom() + "-" + e.getTo();
+                    assertEquals(true, mst.deleteEdge(e.getFrom(), e.getTo()), op);
+                }
+                assertSameCost(nodes, edges, mst, round, op);
+            }
+        }
+    }
+
+    @Test
+    void keepsTheUniqueTreeWithDistinctWeights() {
+        // With distinct weights the minimum spanning forest is unique, so the edge sets must match.
+        Random random = new Random(9);
+        int n = 150;
+        List<String> nodes = new ArrayList<>();
+        for (int v = 0; v < n; v++) nodes.add("v" + v);
+        List<Integer> weights = new ArrayList<>();
+        for (int w = 0; w < 100_000; w++) weights.add(w);
+        Collections.shuffle(weights, random);
+        Iterator<Integer> nextWeight = weights.iterator();
+        Map<String, Edge> edges = new LinkedHashMap<>();
+        for (int i = 4 * n; i > 0; i--) {
+            Edge e = randomEdge(random, n);
+            edges.putIfAbsent(key(e.getFrom(), e.getTo()), new Edge(e.getFrom(), e.getTo(), nextWeight.next()));
+        }
+        GraphData graph = graph(nodes, edges.values());
+        DynamicMST mst = new DynamicMST(graph, new KruskalAlgorithm(graph, nodes, graph.getEdges()).getResult());
+
+        for (int step = 0; step < 3_000; step++) {
+            Edge e = randomEdge(random, n);
+            e = new Edge(e.getFrom(), e.getTo(), nextWeight.next());
+            String k = key(e.getFrom(), e.getTo());
+            if (!edges.containsKey(k)) {
+                mst.insertEdge(e.getFrom(), e.getTo(), e.getWeight());
+                edges.put(k, e);
+            } else if (random.nextInt(3) > 0) {
+                assertEquals(true, mst.deleteEdge(e.getFrom(), e.getTo()));
+                edges.remove(k);
+            } else {
+                assertEquals(true, mst.updateWeight(e.getFrom(), e.getTo(), e.getWeight()));
+                edges.put(k, e);
+            }
+            GraphData current = graph(nodes, edges.values());
+            KruskalAlgorithm.Result expected = new KruskalAlgorithm(current, nodes, current.getEdges()).getResult();
+            assertEquals(edgeSet(expected.mstEdges), edgeSet(mst.getMstEdges()), "step " + step);
+            assertEquals(expected.totalCost, mst.getTotalCost(), "step " + step);
+        }
+    }
+
+    @Test
+    void missingEdgesAreReported() {
+        List<String> nodes = List.of("a", "b", "c");
+        Map<String, Edge> edges = new LinkedHashMap<>();
+        edges.put(key("a", "b"), new Edge("a", "b", 1));
+        GraphData graph = graph(nodes, edges.values());
+        DynamicMST mst = new DynamicMST(graph, new KruskalAlgorithm(graph, nodes, graph.getEdges()).getResult());
+        assertEquals(false, mst.deleteEdge("a", "c"));
+        assertEquals(false, mst.updateWeight("b", "c", 5));
+        assertEquals(1, mst.getTotalCost());
+    }
+
+    private static void assertSameCost(List<String> nodes, Map<String, Edge> edges, DynamicMST mst,
+                                       int round, String op) {
+        GraphData graph = graph(nodes, edges.values());
+        KruskalAlgorithm.Result expected = new KruskalAlgorithm(graph, nodes, graph.getEdges()).getResult();
+        String context = "round " + round + " after " + op;
+        assertEquals(expected.totalCost, mst.getTotalCost(), context);
+        assertEquals(expected.mstEdges.size(), mst.getMstEdges().size(), context);
+        assertEquals(edges.size(), mst.getEdgeCount(), context);
+    }
+
+    private static Edge randomEdge(Random random, int n) {
+        int u = random.nextInt(n);
+        int v = random.nextInt(n - 1);
+        if (v >= u) v++;
+        // Few distinct weights, so ties between tree and non-tree edges are common.
+        return new Edge("v" + Math.min(u, v), "v" + Math.max(u, v), random.nextInt(8) - 2);
+    }
+
+    private static Set<String> edgeSet(List<Edge> edges) {
+        Set<String> set = new HashSet<>();
+        for (Edge e : edges) {
+            String u = e.getFrom();
+            String v = e.getTo();
+            set.add((u.compareTo(v) < 0 ? u + "|" + v : v + "|" + u) + ":" + e.getWeight());
+        }
+        return set;
+    }
+
+    private static String key(String u, String v) {
+        return u + "|" + v;
+    }
+
+    private static GraphData graph(List<String> nodes, Collection<Edge> edges) {
+        GraphData g = new GraphData();
+        g.setNodes(new ArrayList<>(nodes));
+        g.setEdges(new ArrayList<>(edges));
+        return g;
+    }
+}
@@ -0,0 +1,76 @@
+package org.example;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.*;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Randomized check of {@link FilterKruskalAlgorithm} against the sequential {@link KruskalAlgorithm}
+ * on graphs with many equal weights, for several pool parallelisms.
+ */
+class FilterKruskalAlgorithmTest {
+
+    private static final int[] PARALLELISMS = {1, 2, 3, 4, 8};
+
+    @Test
+    void matchesKruskalOnSmallGraphs() {
+        Random random = new Random(7);
+        for (int round = 0; round < 100; round++) {
+            int n = 1 + random.nextInt(40);
+            assertMatchesKruskal(randomGraph(random, n, random.nextInt(4 * n + 1)), "round " + round);
+        }
+    }
+
+    @Test
+    void matchesKruskalAbovePartitionThreshold() {
+        // Large enough that the pivot partitioning and the parallel filter actually run.
+        Random random = new Random(11);
+        for (int round = 0; round < 4; round++) {
+            int n = 2_000 + random.nextInt(8_000);
+            int m = FilterKruskalAlgorithm.SEQUENTIAL_THRESHOLD * (2 + random.nextInt(3));
+            assertMatchesKruskal(randomGraph(random, n, m), "round " + round);
+        }
+    }
+
+    private static void assertMatchesKruskal(GraphData graph, String context) {
+        KruskalAlgorithm.Result expected =
+                new KruskalAlgorithm(graph, graph.getNodes(), graph.getEdges()).getResult();
+        for (int parallelism : PARALLELISMS) {
+            FilterKruskalAlgorithm.Result actual =
+                    new FilterKruskalAlgorithm(graph, graph.getNodes(), graph.getEdges(), parallelism).getResult();
+            String message = context + ", parallelism " + parallelism;
+            assertEquals(expected.totalCost, actual.totalCost, message);
+            assertEquals(edgeSet(expected.mstEdges), edgeSet(actual.mstEdges), message);
+        }
+    }
+
+    private static GraphData randomGraph(Random random, int n, int m) {
+        List<String> nodes = new ArrayList<>();
+        for (int v = 0; v < n; v++) nodes.add("v" + v);
+        Map<String, Edge> edges = new LinkedHashMap<>();
+        for (int i = 0; i < m && n > 1; i++) {
+            int u = random.nextInt(n);
+            int v = random.nextInt(n - 1);
+            if (v >= u) v++;
+            // Few distinct weights, so most edges tie with many others.
+            Edge e = new Edge("v" + u, "v" + v, random.nextInt(6) - 1);
+            edges.putIfAbsent("v" + Math.min(u, v) + "|v" + Math.max(u, v), e);
+        }
+        GraphData g = new GraphData();
+        g.setNodes(nodes);
+        g.setEdges(new ArrayList<>(edges.values()));
+        return g;
+    }
+
+    private static Set<String> edgeSet(List<Edge> edges) {
+        Set<String> set = new HashSet<>();
+        for (Edge e : edges) {
+            String u = e.getFrom();
+            String v = e.getTo();
+            set.add((u.compareTo(v) < 0 ? u + "|" + v : v + "|" + u) + ":" + e.getWeight());
+        }
+        return set;
+    }
+}
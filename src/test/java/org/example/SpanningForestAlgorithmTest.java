@@ -0,0 +1,85 @@
+package org.example;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.*;
+import java.util.concurrent.ForkJoinPool;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Randomized check of {@link SpanningForestAlgorithm} against the sequential {@link KruskalAlgorithm}
+ * on graphs with many equal weights and components, for several pool parallelisms and batch sizes.
+ */
+class SpanningForestAlgorithmTest {
+
+    private static final int[] PARALLELISMS = {1, 2, 3, 4, 8};
+    private static final int[] BATCH_SIZES = {1, 64, SpanningForestAlgorithm.DEFAULT_BATCH_SIZE};
+
+    @Test
+    void matchesKruskalOnSmallGraphs() {
+        Random random = new Random(7);
+        for (int round = 0; round < 100; round++) {
+            int n = 1 + random.nextInt(40);
+            assertMatchesKruskal(randomGraph(random, n, random.nextInt(4 * n + 1)), "round " + round);
+        }
+    }
+
+    @Test
+    void matchesKruskalOnLargeGraphs() {
+        // Sparse enough for many components, large enough for several default-sized batches.
+        Random random = new Random(11);
+        for (int round = 0; round < 4; round++) {
+            int n = 20_000 + random.nextInt(40_000);
+            int m = n / 2 + random.nextInt(n);
+            assertMatchesKruskal(randomGraph(random, n, m), "round " + round);
+        }
+    }
+
+    private static void assertMatchesKruskal(GraphData graph, String context) {
+        KruskalAlgorithm.Result expected =
+                new KruskalAlgorithm(graph, graph.getNodes(), graph.getEdges()).getResult();
+        for (int parallelism : PARALLELISMS) {
+            ForkJoinPool pool = new ForkJoinPool(parallelism);
+            try {
+                for (int batchSize : BATCH_SIZES) {
+                    SpanningForestAlgorithm.Result actual = new SpanningForestAlgorithm(
+                            graph, graph.getNodes(), graph.getEdges(), pool, batchSize).getResult();
+                    String message = context + ", parallelism " + parallelism + ", batch size " + batchSize;
+                    assertEquals(expected.totalCost, actual.totalCost, message);
+                    assertEquals(edgeSet(expected.mstEdges), edgeSet(actual.mstEdges), message);
+                }
+            } finally {
+                pool.shutdown();
+            }
+        }
+    }
+
+    private static GraphData randomGraph(Random random, int n, int m) {
+        List<String> nodes = new ArrayList<>();
+        for (int v = 0; v < n; v++) nodes.add("v" + v);
+        Map<String, Edge> edges = new LinkedHashMap<>();
+        for (int i = 0; i < m && n > 1; i++) {
+            int u = random.nextInt(n);
+            int v = random.nextInt(n - 1);
+            if (v >= u) v++;
+            // Few distinct weights, so most edges tie with many others.
+            Edge e = new Edge("v" + u, "v" + v, random.nextInt(6) - 1);
+            edges.putIfAbsent("v" + Math.min(u, v) + "|v" + Math.max(u, v), e);
+        }
+        GraphData g = new GraphData();
+        g.setNodes(nodes);
+        g.setEdges(new ArrayList<>(edges.values()));
+        return g;
+    }
+
+    private static Set<String> edgeSet(List<Edge> edges) {
+        Set<String> set = new HashSet<>();
+        for (Edge e : edges) {
+            String u = e.getFrom();
+            String v = e.getTo();
+            set.add((u.compareTo(v) < 0 ? u + "|" + v : v + "|" + u) + ":" + e.getWeight());
+        }
+        return set;
+    }
+}